@@ -0,0 +1,11 @@
+package net.luckperms.api;
+
+import net.luckperms.api.model.user.UserManager;
+
+/**
+ * Stand-in for the LuckPerms API type of the same name, so PermissionBenchmark can exercise PermissionService's
+ * reflective bridge without a server. Only the members Verbatim calls are declared.
+ */
+public interface LuckPerms {
+    UserManager getUserManager();
+}
@@ -0,0 +1,22 @@
+package net.luckperms.api;
+
+/**
+ * Stand-in for the LuckPerms API type of the same name, so PermissionBenchmark can exercise PermissionService's
+ * reflective bridge without a server. Only the members Verbatim calls are declared.
+ */
+public final class LuckPermsProvider {
+    private static LuckPerms instance;
+
+    private LuckPermsProvider() {}
+
+    public static LuckPerms get() {
+        if (instance == null) {
+            throw new IllegalStateException("No LuckPerms stand-in registered");
+        }
+        return instance;
+    }
+
+    public static void register(LuckPerms luckPerms) {
+        instance = luckPerms;
+    }
+}
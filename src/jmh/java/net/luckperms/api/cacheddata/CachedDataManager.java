@@ -0,0 +1,9 @@
+package net.luckperms.api.cacheddata;
+
+/**
+ * Stand-in for the LuckPerms API type of the same name, so PermissionBenchmark can exercise PermissionService's
+ * reflective bridge without a server. Only the members Verbatim calls are declared.
+ */
+public interface CachedDataManager {
+    CachedPermissionData getPermissionData();
+}
@@ -0,0 +1,11 @@
+package net.luckperms.api.cacheddata;
+
+import net.luckperms.api.util.Tristate;
+
+/**
+ * Stand-in for the LuckPerms API type of the same name, so PermissionBenchmark can exercise PermissionService's
+ * reflective bridge without a server. Only the members Verbatim calls are declared.
+ */
+public interface CachedPermissionData {
+    Tristate checkPermission(String permission);
+}
@@ -0,0 +1,15 @@
+package net.luckperms.api.model.user;
+
+import net.luckperms.api.cacheddata.CachedDataManager;
+
+import java.util.UUID;
+
+/**
+ * Stand-in for the LuckPerms API type of the same name, so PermissionBenchmark can exercise PermissionService's
+ * reflective bridge without a server. Only the members Verbatim calls are declared.
+ */
+public interface User {
+    UUID getUniqueId();
+
+    CachedDataManager getCachedData();
+}
@@ -0,0 +1,14 @@
+package net.luckperms.api.model.user;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stand-in for the LuckPerms API type of the same name, so PermissionBenchmark can exercise PermissionService's
+ * reflective bridge without a server. Only the members Verbatim calls are declared.
+ */
+public interface UserManager {
+    User getUser(UUID uniqueId);
+
+    CompletableFuture<User> loadUser(UUID uniqueId);
+}
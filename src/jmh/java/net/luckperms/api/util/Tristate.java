@@ -0,0 +1,15 @@
+package net.luckperms.api.util;
+
+/**
+ * Stand-in for the LuckPerms API type of the same name, so PermissionBenchmark can exercise PermissionService's
+ * reflective bridge without a server. Only the members Verbatim calls are declared.
+ */
+public enum Tristate {
+    TRUE,
+    FALSE,
+    UNDEFINED;
+
+    public boolean asBoolean() {
+        return this == TRUE;
+    }
+}
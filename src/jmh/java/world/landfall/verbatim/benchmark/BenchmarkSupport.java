@@ -0,0 +1,116 @@
+package world.landfall.verbatim.benchmark;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import io.netty.buffer.Unpooled;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.PacketSendListener;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.player.ChatVisiblity;
+import net.neoforged.fml.config.IConfigSpec;
+import net.neoforged.neoforge.network.connection.ConnectionType;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.VerbatimConfig;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Shared setup for the benchmarks: vanilla bootstrap, the server config at its defaults, and
+ * stand-in players whose connections encode each system chat packet, as the network pipeline would, and
+ * then drop the bytes. Mocks are stub-only, so they do not record the millions of calls a run makes.
+ */
+final class BenchmarkSupport {
+    private static boolean initialized;
+    private static RegistryAccess registryAccess;
+
+    private BenchmarkSupport() {}
+
+    static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        // Load the spec from an in-memory config filled with defaults, as if verbatim-server.toml were fresh
+        CommentedConfig config = CommentedConfig.inMemory();
+        VerbatimConfig.SPEC.correct(config);
+        VerbatimConfig.SPEC.acceptConfig(new IConfigSpec.ILoadedConfig() {
+            @Override
+            public CommentedConfig config() {
+                return config;
+            }
+
+            @Override
+            public void save() {}
+        });
+        registryAccess = RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY);
+        initialized = true;
+    }
+
+    /**
+     * The default "local" channel from the config docs.
+     */
+    static ChatChannelManager.ChannelConfig localChannel() {
+        return new ChatChannelManager.ChannelConfig(0, "local", "&e[L]", "l", null, 50,
+                "&e", ": ", "&7", "&f", true, false, "local", null);
+    }
+
+    /**
+     * A global (unranged) channel.
+     */
+    static ChatChannelManager.ChannelConfig globalChannel() {
+        return new ChatChannelManager.ChannelConfig(1, "global", "&a[G]", "g", null, -1,
+                "&a", ": ", "&7", "&f", true, false, null, null);
+    }
+
+    static ServerPlayer player(int index) {
+        ServerPlayer player = mock(ServerPlayer.class, withSettings().stubOnly());
+        String name = "Player" + index;
+        when(player.getName()).thenReturn(Component.literal(name));
+        when(player.getDisplayName()).thenReturn(Component.literal(index % 2 == 0 ? name : "&6Sir " + name));
+        when(player.getUUID()).thenReturn(new UUID(0L, index));
+        when(player.getChatVisibility()).thenReturn(ChatVisiblity.FULL);
+        player.connection = encodingConnection();
+        return player;
+    }
+
+    /**
+     * A connection that encodes system chat packets into its own buffer, so delivery pays the per-recipient
+     * serialization a real connection does. Other packets are ignored.
+     */
+    static ServerGamePacketListenerImpl encodingConnection() {
+        ServerGamePacketListenerImpl connection = mock(ServerGamePacketListenerImpl.class, withSettings().stubOnly());
+        RegistryFriendlyByteBuf buffer = new RegistryFriendlyByteBuf(Unpooled.buffer(256), registryAccess, ConnectionType.NEOFORGE);
+        doAnswer(invocation -> {
+            encode(buffer, invocation.getArgument(0));
+            return null;
+        }).when(connection).send(any(Packet.class), nullable(PacketSendListener.class));
+        doAnswer(invocation -> {
+            encode(buffer, invocation.getArgument(0));
+            return null;
+        }).when(connection).send(any(Packet.class));
+        return connection;
+    }
+
+    private static void encode(RegistryFriendlyByteBuf buffer, Packet<?> packet) {
+        if (packet instanceof ClientboundSystemChatPacket chatPacket) {
+            buffer.clear();
+            ClientboundSystemChatPacket.STREAM_CODEC.encode(buffer, chatPacket);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package world.landfall.verbatim.benchmark;
+
+import net.minecraft.server.level.ServerPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatEvents;
+import world.landfall.verbatim.chat.ReusedPacketDelivery;
+import world.landfall.verbatim.specialchannels.LocalChannelFormatter;
+import world.landfall.verbatim.util.PlayerParticipant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One chat message from formatting to encoded packets, through ChatEvents#deliverChannelMessage as onChat
+ * calls it once focus and permissions are resolved. Candidates are already gathered (the spatial index
+ * query is not part of this); for the local channel they are spread from next to the sender to just beyond
+ * the fade-out range.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatFanOutBenchmark {
+    private static final String MESSAGE = "Meet at the docks at sundown, bring rope and a lantern.";
+
+    @Param({"50", "200", "500"})
+    public int recipientCount;
+
+    @Param({"local", "global"})
+    public String channelKind;
+
+    private ChatChannelManager.ChannelConfig channel;
+    private ServerPlayer sender;
+    private List<PlayerParticipant> candidates;
+
+    // Stands where it was placed; the mocked player has no position of its own
+    private static final class PlacedParticipant extends PlayerParticipant {
+        private final double x;
+        private final double z;
+
+        PlacedParticipant(ServerPlayer player, double x, double z) {
+            super(player);
+            this.x = x;
+            this.z = z;
+        }
+
+        @Override
+        public double getX() {
+            return x;
+        }
+
+        @Override
+        public double getY() {
+            return 0;
+        }
+
+        @Override
+        public double getZ() {
+            return z;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        channel = "local".equals(channelKind) ? BenchmarkSupport.localChannel() : BenchmarkSupport.globalChannel();
+        sender = BenchmarkSupport.player(0); // At the origin, as are the mock's coordinates
+        candidates = new ArrayList<>(recipientCount + 1);
+        candidates.add(new PlacedParticipant(sender, 0, 0));
+        Random random = new Random(42);
+        double maxDistance = 50 * LocalChannelFormatter.FADE_MULTIPLIER * 1.1;
+        for (int i = 0; i < recipientCount; i++) {
+            double distance = random.nextDouble() * maxDistance;
+            double angle = random.nextDouble() * 2 * Math.PI;
+            candidates.add(new PlacedParticipant(BenchmarkSupport.player(i + 1), distance * Math.cos(angle), distance * Math.sin(angle)));
+        }
+    }
+
+    @Benchmark
+    public ReusedPacketDelivery onChatFanOut() {
+        return ChatEvents.deliverChannelMessage(sender, channel, MESSAGE, queryRadius -> candidates);
+    }
+}
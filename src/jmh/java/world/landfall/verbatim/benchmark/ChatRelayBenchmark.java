@@ -0,0 +1,100 @@
+package world.landfall.verbatim.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+import world.landfall.verbatim.discord.ChatRelayBuffer;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submitting in-game chat to the Discord relay from several threads, with the batches handed to a sink that
+ * only consumes them. Measures the cost the relay adds on the chat path, not Discord itself; the relay's
+ * own counters are reported alongside as auxiliary counters.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ChatRelayBenchmark {
+
+    @Param({"0", "1000"})
+    public long windowMillis;
+
+    private ScheduledExecutorService scheduler;
+    private ChatRelayBuffer relay;
+    private final UUID playerId = new UUID(0L, 1L);
+    private volatile Blackhole sink;
+
+    @Setup(Level.Iteration)
+    public void setup(Blackhole blackhole) {
+        sink = blackhole;
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        relay = new ChatRelayBuffer(500, ChatRelayBuffer.OverflowPolicy.DROP_OLDEST, windowMillis, scheduler,
+                batch -> {
+                    sink.consume(batch);
+                    return CompletableFuture.completedFuture(null); // Sent at once, so the in-flight gate never holds a batch
+                });
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        scheduler.shutdownNow();
+        relay.flush();
+    }
+
+    /**
+     * The relay's counters for the iteration. They are shared by all threads, so only the first thread
+     * reports them; JMH sums the others' zeros.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RelayCounters {
+        public long dropped;
+        public long batches;
+        public long meanWaitMicros;
+        public long maxWaitMicros;
+
+        @TearDown(Level.Iteration)
+        public void collect(ChatRelayBenchmark benchmark, ThreadParams threads) {
+            if (threads.getThreadIndex() != 0) {
+                dropped = batches = meanWaitMicros = maxWaitMicros = 0;
+                return;
+            }
+            ChatRelayBuffer relay = benchmark.relay;
+            long relayed = relay.getSubmittedCount() - relay.getDroppedCount();
+            dropped = relay.getDroppedCount();
+            batches = relay.getBatchCount();
+            meanWaitMicros = relayed == 0 ? 0 : relay.getTotalLatencyNanos() / 1000 / relayed;
+            maxWaitMicros = relay.getMaxLatencyNanos() / 1000;
+        }
+    }
+
+    @Benchmark
+    public void submit(RelayCounters counters) {
+        // A new entry per message, as on the chat path; entries carry their capture time
+        relay.submit(new ChatRelayBuffer.Entry("123456789012345678", playerId, "Player1", "Sir Player1",
+                "Meet at the docks at sundown, bring rope and a lantern."));
+    }
+}
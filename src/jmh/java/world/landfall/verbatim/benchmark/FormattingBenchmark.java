@@ -0,0 +1,109 @@
+package world.landfall.verbatim.benchmark;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.chat.Style;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import world.landfall.verbatim.ChatFormattingUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Colour code parsing and stripping, run for every message and player name. parseColorsRegexSplit is the
+ * regex-split parser parseColors replaced, kept here as the baseline for the single-pass lexer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormattingBenchmark {
+
+    @Param({"plain", "colored", "heavy"})
+    public String kind;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        text = switch (kind) {
+            case "plain" -> "Anyone want to head to the mines after the market closes?";
+            case "colored" -> "&eAnyone &fwant to head to the &6mines &fafter the market closes?";
+            default -> "&l&4W&c&oa&6r&en&ai&2n&bg&r&f: &kxx&r &7the &9&nnorth gate&r &7is &c&lunder attack&r&f!";
+        };
+    }
+
+    @Benchmark
+    public Component parseColors() {
+        return ChatFormattingUtils.parseColors(text);
+    }
+
+    @Benchmark
+    public Component parseColorsRegexSplit() {
+        return regexSplitParseColors(text);
+    }
+
+    @Benchmark
+    public Component parseColorsCached() {
+        return ChatFormattingUtils.parseColorsCached(text);
+    }
+
+    @Benchmark
+    public String stripFormattingCodes() {
+        return ChatFormattingUtils.stripFormattingCodes(text);
+    }
+
+    // ChatFormattingUtils#parseColors before the lexer: split on a lookahead regex, then style each part
+    private static Component regexSplitParseColors(String text) {
+        if (text == null || text.isEmpty()) {
+            return Component.empty();
+        }
+        MutableComponent mainComponent = Component.literal("");
+        String[] parts = text.split("(?i)(?=&[0-9a-fk-or])");
+        Style currentStyle = Style.EMPTY;
+        for (String part : parts) {
+            if (part.isEmpty()) continue;
+            if (part.startsWith("&") && part.length() >= 2) {
+                ChatFormatting formatting = ChatFormatting.getByCode(part.charAt(1));
+                String textContent = part.substring(2);
+                if (formatting != null) {
+                    if (formatting.isColor()) {
+                        currentStyle = Style.EMPTY.withColor(formatting);
+                    } else if (formatting == ChatFormatting.RESET) {
+                        currentStyle = Style.EMPTY;
+                    } else {
+                        currentStyle = applyStyle(currentStyle, formatting);
+                    }
+                }
+                if (!textContent.isEmpty()) {
+                    mainComponent.append(Component.literal(textContent).setStyle(currentStyle));
+                }
+            } else {
+                mainComponent.append(Component.literal(part).setStyle(currentStyle));
+            }
+        }
+        return mainComponent;
+    }
+
+    private static Style applyStyle(Style baseStyle, ChatFormatting format) {
+        if (format == ChatFormatting.BOLD) return baseStyle.withBold(true);
+        if (format == ChatFormatting.ITALIC) return baseStyle.withItalic(true);
+        if (format == ChatFormatting.UNDERLINE) return baseStyle.withUnderlined(true);
+        if (format == ChatFormatting.STRIKETHROUGH) return baseStyle.withStrikethrough(true);
+        if (format == ChatFormatting.OBFUSCATED) return baseStyle.withObfuscated(true);
+        return baseStyle;
+    }
+}
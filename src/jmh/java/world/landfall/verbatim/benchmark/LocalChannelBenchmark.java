@@ -0,0 +1,74 @@
+package world.landfall.verbatim.benchmark;
+
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.server.level.ServerPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.specialchannels.FormattedMessageDetails;
+import world.landfall.verbatim.specialchannels.LocalChannelFormatter;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local channel formatting and the per-recipient distance handling.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalChannelBenchmark {
+    private static final String MESSAGE = "Has anyone seen the caravan from the eastern pass? It was due at noon!";
+
+    private ChatChannelManager.ChannelConfig channel;
+    private ServerPlayer sender;
+    private FormattedMessageDetails details;
+    private double fadingDistanceSqr; // Between the clear range and the fade-out range
+    private int distanceIndex;
+    private double[] distancesSqr; // Spread over clear, fading and out of range
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        channel = BenchmarkSupport.localChannel();
+        sender = BenchmarkSupport.player(1);
+        details = LocalChannelFormatter.formatLocalMessage(sender, channel, MESSAGE).orElseThrow();
+        double fadingDistance = details.effectiveRange * 1.5;
+        fadingDistanceSqr = fadingDistance * fadingDistance;
+        distancesSqr = new double[64];
+        double maxDistance = details.effectiveRange * LocalChannelFormatter.FADE_MULTIPLIER * 1.1;
+        for (int i = 0; i < distancesSqr.length; i++) {
+            double distance = maxDistance * i / (distancesSqr.length - 1);
+            distancesSqr[i] = distance * distance;
+        }
+    }
+
+    @Benchmark
+    public Optional<FormattedMessageDetails> formatLocalMessage() {
+        return LocalChannelFormatter.formatLocalMessage(sender, channel, MESSAGE);
+    }
+
+    @Benchmark
+    public MutableComponent createDistanceObscuredMessage() {
+        return LocalChannelFormatter.createDistanceObscuredMessage(details.formattedMessage, fadingDistanceSqr,
+                details.effectiveRange, false, channel.messageColor);
+    }
+
+    @Benchmark
+    public MutableComponent getMessageForDistance() {
+        double distanceSqr = distancesSqr[distanceIndex];
+        distanceIndex = (distanceIndex + 1) & (distancesSqr.length - 1);
+        return details.getMessageForDistance(distanceSqr);
+    }
+}
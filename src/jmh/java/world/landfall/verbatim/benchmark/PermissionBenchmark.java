@@ -0,0 +1,94 @@
+package world.landfall.verbatim.benchmark;
+
+import net.luckperms.api.LuckPermsProvider;
+import net.minecraft.server.level.ServerPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.util.PermissionService;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One LuckPerms permission check against an in-memory LuckPerms ({@link StubLuckPerms}): the reflective
+ * lookup-and-invoke chain PermissionService used before, its MethodHandle chain with the decision cache
+ * emptied before every check, and the steady state where the cached decision answers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionBenchmark {
+    private static final String NODE = "verbatim.channel.staff";
+
+    private Object luckPermsApi;
+    private PermissionService service;
+    private ServerPlayer player;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        player = BenchmarkSupport.player(1);
+        StubLuckPerms luckPerms = new StubLuckPerms();
+        luckPerms.addUser(player.getUUID(), Map.of(NODE, true, "verbatim.channel.trade", false));
+        LuckPermsProvider.register(luckPerms);
+        luckPermsApi = LuckPermsProvider.get();
+
+        service = new PermissionService();
+        if (!service.isLuckPermsAvailable() || !service.hasPermission(player, NODE, 2)) {
+            throw new IllegalStateException("PermissionService did not resolve the LuckPerms stand-in");
+        }
+    }
+
+    @Benchmark
+    public boolean reflectiveLookupAndInvoke() throws Exception {
+        return reflectiveCheck(player, NODE);
+    }
+
+    @Benchmark
+    public boolean methodHandleChain() {
+        service.invalidate(player.getUUID());
+        return service.hasPermission(player, NODE, 2);
+    }
+
+    @Benchmark
+    public boolean cachedDecision() {
+        return service.hasPermission(player, NODE, 2);
+    }
+
+    // PermissionService#hasPermission's LuckPerms branch before the MethodHandles: six getMethod lookups and
+    // six Method.invoke calls per check, including the same debug log
+    private boolean reflectiveCheck(ServerPlayer player, String permissionNode) throws Exception {
+        Method getUserManagerMethod = luckPermsApi.getClass().getMethod("getUserManager");
+        Object userManager = getUserManagerMethod.invoke(luckPermsApi);
+        Method getUserMethod = userManager.getClass().getMethod("getUser", UUID.class);
+        Object user = getUserMethod.invoke(userManager, player.getUUID());
+        if (user == null) {
+            return false;
+        }
+        Method getCachedDataMethod = user.getClass().getMethod("getCachedData");
+        Object cachedData = getCachedDataMethod.invoke(user);
+        Method getPermissionDataMethod = cachedData.getClass().getMethod("getPermissionData");
+        Object permissionData = getPermissionDataMethod.invoke(cachedData);
+        Method checkPermissionMethod = permissionData.getClass().getMethod("checkPermission", String.class);
+        Object permissionResult = checkPermissionMethod.invoke(permissionData, permissionNode);
+        Method asBooleanMethod = permissionResult.getClass().getMethod("asBoolean");
+        boolean checkResult = (Boolean) asBooleanMethod.invoke(permissionResult);
+        Verbatim.LOGGER.debug("[Verbatim PermissionService] LuckPerms check for player '{}', node '{}': {} (UUID: {})",
+                player.getName().getString(), permissionNode, checkResult, player.getUUID());
+        return checkResult;
+    }
+}
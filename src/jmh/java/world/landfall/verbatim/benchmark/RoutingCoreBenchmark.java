@@ -0,0 +1,140 @@
+package world.landfall.verbatim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import world.landfall.verbatim.core.ChannelMembership;
+import world.landfall.verbatim.core.ChatParticipant;
+import world.landfall.verbatim.core.DistanceTiers;
+import world.landfall.verbatim.core.LocalSpeech;
+import world.landfall.verbatim.core.SpatialIndex;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Minecraft-independent routing core with synthetic participants: finding who hears a local message
+ * (spatial query, membership filter, distance tier) and the per-tick index maintenance as everyone moves.
+ * Needs no bootstrap or mocks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoutingCoreBenchmark {
+    private static final int WORLD_RADIUS = 2000; // Participants spread over a 4000x4000 block area
+    private static final String[] DIMENSIONS = {"minecraft:overworld", "minecraft:the_nether"};
+
+    @Param({"1000", "10000"})
+    public int participantCount;
+
+    private SyntheticParticipant[] participants;
+    private SpatialIndex<SyntheticParticipant> index;
+    private ChannelMembership membership;
+    private int localChannelId;
+    private DistanceTiers tiers;
+    private Random random;
+    private int senderIndex;
+
+    static final class SyntheticParticipant implements ChatParticipant {
+        final UUID id;
+        final String dimension;
+        double x;
+        double z;
+
+        SyntheticParticipant(UUID id, String dimension, double x, double z) {
+            this.id = id;
+            this.dimension = dimension;
+            this.x = x;
+            this.z = z;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public Object getDimension() {
+            return dimension;
+        }
+
+        @Override
+        public double getX() {
+            return x;
+        }
+
+        @Override
+        public double getY() {
+            return 64;
+        }
+
+        @Override
+        public double getZ() {
+            return z;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        random = new Random(42);
+        index = new SpatialIndex<>();
+        membership = new ChannelMembership();
+        int globalChannelId = membership.channelIdFor("global");
+        localChannelId = membership.channelIdFor("local");
+        tiers = new DistanceTiers(LocalSpeech.Mode.SAY.range, 3);
+        participants = new SyntheticParticipant[participantCount];
+        for (int i = 0; i < participantCount; i++) {
+            SyntheticParticipant participant = new SyntheticParticipant(new UUID(0L, i), DIMENSIONS[i % DIMENSIONS.length],
+                    random.nextDouble() * 2 * WORLD_RADIUS - WORLD_RADIUS, random.nextDouble() * 2 * WORLD_RADIUS - WORLD_RADIUS);
+            participants[i] = participant;
+            index.update(participant);
+            membership.join(participant.id, globalChannelId);
+            if (i % 4 != 0) {
+                membership.join(participant.id, localChannelId); // Most, but not all, are in local
+            }
+        }
+    }
+
+    @Benchmark
+    public int localRecipients(Blackhole blackhole) {
+        SyntheticParticipant sender = participants[senderIndex];
+        senderIndex = (senderIndex + 1) % participants.length;
+        List<SyntheticParticipant> candidates = index.getNear(sender, LocalSpeech.Mode.SAY.range * LocalSpeech.FADE_MULTIPLIER);
+        int heard = 0;
+        for (SyntheticParticipant candidate : candidates) {
+            if (!membership.isJoined(candidate.id, localChannelId)) {
+                continue;
+            }
+            int tier = tiers.tierFor(candidate.distanceToSqr(sender));
+            if (tier != DistanceTiers.OUT_OF_RANGE) {
+                blackhole.consume(candidate);
+                heard++;
+            }
+        }
+        return heard;
+    }
+
+    // One server tick with everyone walking: most updates stay in their cell
+    @Benchmark
+    public void tickAllMoving() {
+        for (SyntheticParticipant participant : participants) {
+            participant.x += random.nextDouble() * 0.6 - 0.3;
+            participant.z += random.nextDouble() * 0.6 - 0.3;
+            index.update(participant);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package world.landfall.verbatim.benchmark;
+
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.cacheddata.CachedDataManager;
+import net.luckperms.api.cacheddata.CachedPermissionData;
+import net.luckperms.api.model.user.User;
+import net.luckperms.api.model.user.UserManager;
+import net.luckperms.api.util.Tristate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory LuckPerms with every user already loaded, answering checks from a per-user node map as
+ * LuckPerms' cached permission data does. The classes are public, as LuckPerms' implementation classes are,
+ * so the reflective lookups in PermissionBenchmark resolve the same way.
+ */
+public final class StubLuckPerms implements LuckPerms {
+    private final StubUserManager userManager = new StubUserManager();
+
+    @Override
+    public UserManager getUserManager() {
+        return userManager;
+    }
+
+    void addUser(UUID uniqueId, Map<String, Boolean> nodes) {
+        userManager.users.put(uniqueId, new StubUser(uniqueId, nodes));
+    }
+
+    public static final class StubUserManager implements UserManager {
+        private final Map<UUID, User> users = new HashMap<>();
+
+        @Override
+        public User getUser(UUID uniqueId) {
+            return users.get(uniqueId);
+        }
+
+        @Override
+        public CompletableFuture<User> loadUser(UUID uniqueId) {
+            return CompletableFuture.completedFuture(users.get(uniqueId));
+        }
+    }
+
+    public static final class StubUser implements User, CachedDataManager, CachedPermissionData {
+        private final UUID uniqueId;
+        private final Map<String, Boolean> nodes;
+
+        StubUser(UUID uniqueId, Map<String, Boolean> nodes) {
+            this.uniqueId = uniqueId;
+            this.nodes = new HashMap<>(nodes);
+        }
+
+        @Override
+        public UUID getUniqueId() {
+            return uniqueId;
+        }
+
+        @Override
+        public CachedDataManager getCachedData() {
+            return this;
+        }
+
+        @Override
+        public CachedPermissionData getPermissionData() {
+            return this;
+        }
+
+        @Override
+        public Tristate checkPermission(String permission) {
+            Boolean value = nodes.get(permission);
+            return value == null ? Tristate.UNDEFINED : value ? Tristate.TRUE : Tristate.FALSE;
+        }
+    }
+}
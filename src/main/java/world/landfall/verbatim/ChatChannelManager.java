@@ -9,6 +9,12 @@ import java.util.UUID;
 import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
@@ -16,14 +22,24 @@ import net.minecraft.server.MinecraftServer;
 import java.util.ArrayList;
 import world.landfall.verbatim.chat.FocusTarget;
 import world.landfall.verbatim.chat.ChatFocus;
+import world.landfall.verbatim.chat.ChannelTemplate;
+import world.landfall.verbatim.core.ChannelMembership;
+import world.landfall.verbatim.discord.DiscordBot;
 
 public class ChatChannelManager {
     // Flag to track if the manager has been properly initialized
-    private static boolean isInitialized = false;
+    private static volatile boolean isInitialized = false; // Read from other threads (login, config watcher)
     
     private static final Map<UUID, FocusTarget> playerFocus = new HashMap<>();
-    private static final Map<UUID, Set<String>> joinedChannels = new HashMap<>();
+    // Joined channels per player, with dense channel IDs that are never reassigned while the server runs,
+    // so membership stays valid across config reloads
+    private static final ChannelMembership membership = new ChannelMembership();
     private static final Map<UUID, UUID> lastIncomingDmSender = new HashMap<>();
+    // Players whose channel state changed since the last flush (write-behind, see savePlayerChannelState)
+    private static final Set<UUID> dirtyChannelState = new HashSet<>();
+    // Config reloads waiting to be diffed on the server thread, and the per-player work they expanded into
+    private static final Queue<ReloadChange> pendingReloads = new ConcurrentLinkedQueue<>();
+    private static final Queue<ReloadWork> reloadWork = new ArrayDeque<>();
 
     public static class ChannelConfig {
         public final String name;
@@ -38,9 +54,15 @@ public class ChatChannelManager {
         public final boolean alwaysOn; // If true, cannot be left via /leave and permission is IGNORED (public)
         public final boolean mature; // If true, shows mature content warning when joining
         public final Optional<String> specialChannelType; // For special channel behaviors like "local"
-
-        public ChannelConfig(String name, String displayPrefix, String shortcut, String permission, Number range,
-                             String nameColor, String separator, String separatorColor, String messageColor, Boolean alwaysOn, Boolean mature, String specialChannelType) {
+        public final Optional<String> discordChannelId; // Discord channel mirrored with this one, if any
+        public final ChannelTemplate template; // Prefix/separator/message style compiled once per config load
+        public final int id; // Dense ID used for membership bitsets
+        public final ChatFocus focus; // The one focus instance for this channel, shared by every player focused on it
+
+        public ChannelConfig(int id, String name, String displayPrefix, String shortcut, String permission, Number range,
+                             String nameColor, String separator, String separatorColor, String messageColor, Boolean alwaysOn, Boolean mature, String specialChannelType,
+                             String discordChannelId) {
+            this.id = id;
             this.name = name;
             this.displayPrefix = displayPrefix;
             this.shortcut = shortcut;
@@ -55,15 +77,78 @@ public class ChatChannelManager {
             this.separator = (separator == null || separator.isEmpty()) ? ": " : separator;
             this.separatorColor = (separatorColor == null || separatorColor.isEmpty()) ? this.messageColor : separatorColor;
             this.specialChannelType = (specialChannelType == null || specialChannelType.isEmpty()) ? Optional.empty() : Optional.of(specialChannelType);
+            this.discordChannelId = DiscordBot.isConfiguredChannelId(discordChannelId) ? Optional.of(discordChannelId.trim()) : Optional.empty();
+            this.template = new ChannelTemplate(this.displayPrefix, this.separatorColor, this.separator, this.messageColor);
+            this.focus = ChatFocus.createChannelFocus(name);
         }
     }
 
-    private static final Map<String, ChannelConfig> channelConfigsByName = new HashMap<>();
-    private static final Map<String, ChannelConfig> channelConfigsByShortcut = new HashMap<>();
+    /**
+     * Immutable snapshot of the configured channels. A new registry is built on every config load and
+     * published with a single volatile write, so readers on any thread see either the old or the new
+     * channel set, never a partially loaded one. Code that needs several lookups to agree (one chat message,
+     * one command) should take one snapshot via {@link ChatChannelManager#getRegistry()} and query it.
+     */
+    public static final class ChannelRegistry {
+        static final ChannelRegistry EMPTY = new ChannelRegistry(new LinkedHashMap<>(), new HashMap<>(), new HashMap<>(), null);
+
+        private final Map<String, ChannelConfig> byName; // In config order
+        private final Map<String, ChannelConfig> byShortcut;
+        private final Map<String, ChannelConfig> byDiscordChannel; // Inbound routing: Discord channel ID -> channel
+        private final Collection<ChannelConfig> channels;
+        private final ChannelConfig defaultChannel; // Resolved once at build time, null only if no channels loaded
+
+        private ChannelRegistry(Map<String, ChannelConfig> byName, Map<String, ChannelConfig> byShortcut,
+                                Map<String, ChannelConfig> byDiscordChannel, ChannelConfig defaultChannel) {
+            this.byName = Collections.unmodifiableMap(byName);
+            this.byShortcut = Collections.unmodifiableMap(byShortcut);
+            this.byDiscordChannel = Collections.unmodifiableMap(byDiscordChannel);
+            this.channels = Collections.unmodifiableCollection(byName.values());
+            this.defaultChannel = defaultChannel;
+        }
+
+        public Optional<ChannelConfig> byName(String name) {
+            return Optional.ofNullable(byName.get(name));
+        }
+
+        // Nullable variant of byName for internal lookups
+        ChannelConfig get(String name) {
+            return byName.get(name);
+        }
+
+        public Optional<ChannelConfig> byShortcut(String shortcut) {
+            return Optional.ofNullable(byShortcut.get(shortcut));
+        }
+
+        public Optional<ChannelConfig> byDiscordChannel(String discordChannelId) {
+            return Optional.ofNullable(byDiscordChannel.get(discordChannelId));
+        }
+
+        public boolean contains(String name) {
+            return byName.containsKey(name);
+        }
+
+        public Collection<ChannelConfig> all() {
+            return channels;
+        }
+
+        public ChannelConfig defaultChannel() {
+            return defaultChannel;
+        }
+
+        public int size() {
+            return byName.size();
+        }
+    }
+
+    private static volatile ChannelRegistry registry = ChannelRegistry.EMPTY;
+    private static final String LEGACY_DISCORD_CHANNEL = "global"; // The only channel bridged before per-channel routing
 
     public static void loadConfiguredChannels() {
-        channelConfigsByName.clear();
-        channelConfigsByShortcut.clear();
+        // Build the new channel set off to the side; readers keep using the current registry until the swap
+        Map<String, ChannelConfig> configsByName = new LinkedHashMap<>();
+        Map<String, ChannelConfig> configsByShortcut = new HashMap<>();
+        Map<String, ChannelConfig> configsByDiscordChannel = new HashMap<>();
         
         List<? extends UnmodifiableConfig> channelsFromConfig = VerbatimConfig.CHANNELS.get();
         Verbatim.LOGGER.info("Loading {} channel definitions from config.", channelsFromConfig.size());
@@ -83,20 +168,31 @@ public class ChatChannelManager {
                 Boolean alwaysOn = channelConf.getOptional("alwaysOn").map(v -> (Boolean)v).orElse(false);
                 Boolean mature = channelConf.getOptional("mature").map(v -> (Boolean)v).orElse(false);
                 String specialChannelType = channelConf.getOptional("specialChannelType").map(String::valueOf).orElse(null);
+                // "global" keeps mirroring the bot's main Discord channel unless it names its own. Blank IDs and
+                // the old placeholder are dropped by ChannelConfig, so an unconfigured main channel maps nothing.
+                String discordChannelId = channelConf.getOptional("discordChannelId").map(String::valueOf)
+                        .orElse(LEGACY_DISCORD_CHANNEL.equals(name) ? VerbatimConfig.DISCORD_CHANNEL_ID.get() : null);
 
                 if (name != null && !name.isEmpty() && displayPrefix != null && shortcut != null && !shortcut.isEmpty()) {
-                    ChannelConfig parsedConfig = new ChannelConfig(name, displayPrefix, shortcut, permissionStr, range,
-                                                                 nameColor, separator, separatorColor, messageColor, alwaysOn, mature, specialChannelType);
-                    if (channelConfigsByName.containsKey(name)) {
+                    if (configsByName.containsKey(name)) {
                         Verbatim.LOGGER.warn("Duplicate channel name in config: '{}'. Ignoring subsequent definition.", name);
                         continue;
                     }
-                    if (channelConfigsByShortcut.containsKey(shortcut)) {
+                    if (configsByShortcut.containsKey(shortcut)) {
                         Verbatim.LOGGER.warn("Duplicate channel shortcut in config: '{}'. Ignoring subsequent definition.", shortcut);
                         continue;
                     }
-                    channelConfigsByName.put(name, parsedConfig);
-                    channelConfigsByShortcut.put(shortcut, parsedConfig);
+                    ChannelConfig parsedConfig = new ChannelConfig(membership.channelIdFor(name), name, displayPrefix, shortcut, permissionStr, range,
+                                                                 nameColor, separator, separatorColor, messageColor, alwaysOn, mature, specialChannelType,
+                                                                 discordChannelId);
+                    if (parsedConfig.discordChannelId.isPresent() && configsByDiscordChannel.containsKey(parsedConfig.discordChannelId.get())) {
+                        Verbatim.LOGGER.warn("Discord channel '{}' is already mirrored by channel '{}'. Channel '{}' will only relay to Discord.",
+                                parsedConfig.discordChannelId.get(), configsByDiscordChannel.get(parsedConfig.discordChannelId.get()).name, name);
+                    } else {
+                        parsedConfig.discordChannelId.ifPresent(id -> configsByDiscordChannel.put(id, parsedConfig));
+                    }
+                    configsByName.put(name, parsedConfig);
+                    configsByShortcut.put(shortcut, parsedConfig);
                     Verbatim.LOGGER.debug("Successfully loaded channel: {}", name);
                 } else {
                     Verbatim.LOGGER.warn("Invalid channel definition (values not matching expected types or missing after validation) from UnmodifiableConfig: {}. Skipping.", channelConf.valueMap());
@@ -105,44 +201,55 @@ public class ChatChannelManager {
                 Verbatim.LOGGER.error("Unexpected error parsing channel definition from UnmodifiableConfig: {}", channelConf.valueMap(), e);
             }
         }
-        Verbatim.LOGGER.info("Finished loading chat channels. Total loaded: {}", channelConfigsByName.size());
+        registry = new ChannelRegistry(configsByName, configsByShortcut, configsByDiscordChannel, resolveDefaultChannel(configsByName));
+        Verbatim.LOGGER.info("Finished loading chat channels. Total loaded: {}", configsByName.size());
         // Mark as initialized after successful loading
         isInitialized = true;
-        // After reloading configs, re-evaluate joined channels for all online players
-        // This is now primarily handled by ChatEvents.onConfigReload to also handle focusing default
+        // Online players are re-evaluated incrementally, see reloadConfiguredChannels
+    }
+
+    private static ChannelConfig resolveDefaultChannel(Map<String, ChannelConfig> configsByName) {
+        String defaultChannelName = VerbatimConfig.DEFAULT_CHANNEL_NAME.get();
+        ChannelConfig defaultConfig = configsByName.get(defaultChannelName);
+        if (defaultConfig == null) {
+            Verbatim.LOGGER.warn("[ChatChannelManager] Default channel named '{}' not found. Falling back.", defaultChannelName);
+            if (!configsByName.isEmpty()) {
+                defaultConfig = configsByName.values().stream().filter(c -> c.alwaysOn).findFirst()
+                                .orElse(configsByName.values().iterator().next()); // Prefer alwaysOn as default fallback
+                Verbatim.LOGGER.warn("[ChatChannelManager] Using first available (preferably alwaysOn) channel '{}' as fallback default.", defaultConfig.name);
+            } else {
+                Verbatim.LOGGER.error("[ChatChannelManager] CRITICAL: No channels loaded. Cannot determine a default channel.");
+            }
+        }
+        return defaultConfig;
     }
 
     public static boolean isInitialized() {
         return isInitialized;
     }
 
-    public static java.util.Collection<ChannelConfig> getAllChannelConfigs() {
-        return channelConfigsByName.values();
+    /**
+     * Returns the current channel registry snapshot. The snapshot never changes; take it once and reuse it
+     * for lookups that must agree with each other.
+     */
+    public static ChannelRegistry getRegistry() {
+        return registry;
+    }
+
+    public static Collection<ChannelConfig> getAllChannelConfigs() {
+        return registry.all();
     }
 
     public static Optional<ChannelConfig> getChannelConfigByName(String name) {
-        return Optional.ofNullable(channelConfigsByName.get(name));
+        return registry.byName(name);
     }
 
     public static Optional<ChannelConfig> getChannelConfigByShortcut(String shortcut) {
-        return Optional.ofNullable(channelConfigsByShortcut.get(shortcut));
+        return registry.byShortcut(shortcut);
     }
 
     public static ChannelConfig getDefaultChannelConfig() {
-        String defaultChannelName = VerbatimConfig.DEFAULT_CHANNEL_NAME.get();
-        ChannelConfig defaultConfig = channelConfigsByName.get(defaultChannelName);
-        if (defaultConfig == null) {
-            Verbatim.LOGGER.warn("[ChatChannelManager] Default channel named '{}' not found. Falling back.", defaultChannelName);
-            if (!channelConfigsByName.isEmpty()) {
-                defaultConfig = channelConfigsByName.values().stream().filter(c -> c.alwaysOn).findFirst()
-                                .orElse(channelConfigsByName.values().iterator().next()); // Prefer alwaysOn as default fallback
-                Verbatim.LOGGER.warn("[ChatChannelManager] Using first available (preferably alwaysOn) channel '{}' as fallback default.", defaultConfig.name);
-            } else {
-                Verbatim.LOGGER.error("[ChatChannelManager] CRITICAL: No channels loaded. Cannot determine a default channel.");
-                return null; 
-            }
-        }
-        return defaultConfig;
+        return registry.defaultChannel();
     }
 
     public static void playerLoggedIn(ServerPlayer player) {
@@ -151,20 +258,21 @@ public class ChatChannelManager {
     }
     
     private static void loadPlayerChannelState(ServerPlayer player) {
+        ChannelRegistry channels = registry;
         Set<String> loadedJoinedChannels = new HashSet<>();
         String loadedFocusedChannel = null;
         try {
             if (player.getPersistentData().contains("verbatim:joined_channels")) {
                 String[] joined = player.getPersistentData().getString("verbatim:joined_channels").split(",");
                 for (String chName : joined) {
-                    if (!chName.isEmpty() && channelConfigsByName.containsKey(chName)) {
+                    if (!chName.isEmpty() && channels.contains(chName)) {
                         loadedJoinedChannels.add(chName);
                     }
                 }
             }
             if (player.getPersistentData().contains("verbatim:focused_channel")) {
                 loadedFocusedChannel = player.getPersistentData().getString("verbatim:focused_channel");
-                if (!channelConfigsByName.containsKey(loadedFocusedChannel)) {
+                if (!channels.contains(loadedFocusedChannel)) {
                     loadedFocusedChannel = null; // Invalid focused channel
                 }
             }
@@ -172,10 +280,13 @@ public class ChatChannelManager {
             Verbatim.LOGGER.error("[ChatChannelManager] Error loading player channel state for {}: {}", player.getName().getString(), e.getMessage());
         }
 
-        joinedChannels.put(player.getUUID(), loadedJoinedChannels);
+        membership.removeParticipant(player.getUUID());
+        for (String chName : loadedJoinedChannels) {
+            membership.join(player.getUUID(), channels.get(chName).id);
+        }
 
         // Ensure all alwaysOn channels are joined by default, and permission is checked for others
-        for (ChannelConfig config : channelConfigsByName.values()) {
+        for (ChannelConfig config : channels.all()) {
             if (config.alwaysOn) {
                 boolean wasJoined = loadedJoinedChannels.contains(config.name);
                 internalJoinChannel(player, config.name, true); // Force join alwaysOn, skip permission check
@@ -189,28 +300,168 @@ public class ChatChannelManager {
                 }
             } else if (loadedJoinedChannels.contains(config.name)) {
                 // If it was in their saved list and not alwaysOn, check permission now
-                // Only check permission if the channel actually has a permission requirement
-                if (config.permission.isPresent() && !Verbatim.permissionService.hasPermission(player, config.permission.get(), 2)) {
+                // Only check permission if the channel actually has a permission requirement.
+                // A provisional denial (LuckPerms data still loading) keeps the channel until revalidateChannelPermissions runs.
+                if (config.permission.isPresent() && !Verbatim.permissionService.hasPermission(player, config.permission.get(), 2)
+                        && !Verbatim.permissionService.isUserDataPending(player)) {
                     Verbatim.LOGGER.info("[ChatChannelManager] Player {} lost permission for saved joined channel '{}' on login. Removing.", player.getName().getString(), config.name);
                     internalLeaveChannel(player, config.name); // Silently remove, don't message yet
                 }
             }
         }
 
-        if (loadedFocusedChannel != null && getJoinedChannels(player).contains(loadedFocusedChannel)) {
-            playerFocus.put(player.getUUID(), ChatFocus.createChannelFocus(loadedFocusedChannel));
+        if (loadedFocusedChannel != null && isJoined(player, loadedFocusedChannel)) {
+            playerFocus.put(player.getUUID(), channels.get(loadedFocusedChannel).focus);
         } else {
              playerFocus.remove(player.getUUID()); // Will be set by ensurePlayerIsInADefaultFocus
         }
         savePlayerChannelState(player);
     }
 
+    /**
+     * Auto-leaves any joined channel the player no longer has permission for. Used after a config reload
+     * and once a player's permission data finishes loading asynchronously.
+     */
+    public static void revalidateChannelPermissions(ServerPlayer player) {
+        for (String joinedChannelName : new HashSet<>(getJoinedChannels(player))) {
+            ChannelConfig config = registry.get(joinedChannelName);
+            if (config != null && !config.alwaysOn && config.permission.isPresent()
+                    && !Verbatim.permissionService.hasPermission(player, config.permission.get(), 2)
+                    && !Verbatim.permissionService.isUserDataPending(player)) {
+                Verbatim.LOGGER.info("[ChatChannelManager] Player {} lost permission for joined channel '{}'. Auto-leaving.", player.getName().getString(), config.name);
+                autoLeaveChannel(player, config.name);
+            }
+        }
+        ensurePlayerIsInADefaultFocus(player); // Focus deferred at login while permission data was loading
+    }
+
+    private static class ReloadChange {
+        final ChannelRegistry previous;
+        final ChannelRegistry current;
+
+        ReloadChange(ChannelRegistry previous, ChannelRegistry current) {
+            this.previous = previous;
+            this.current = current;
+        }
+    }
+
+    private enum ReloadAction { LEAVE_REMOVED, RECHECK_PERMISSION, JOIN_ALWAYS_ON }
+
+    private static class ReloadWork {
+        final UUID playerId;
+        final String channelName;
+        final ReloadAction action;
+
+        ReloadWork(UUID playerId, String channelName, ReloadAction action) {
+            this.playerId = playerId;
+            this.channelName = channelName;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Reloads the channel config and queues the affected players for re-evaluation. Safe to call from the
+     * config watcher thread; the player updates are applied by processReloadWork on the server thread.
+     */
+    public static synchronized void reloadConfiguredChannels() {
+        ChannelRegistry previous = registry;
+        loadConfiguredChannels();
+        pendingReloads.add(new ReloadChange(previous, registry));
+    }
+
+    /**
+     * Expands pending reloads into (player, channel) updates and applies up to reloadWorkPerTick of them.
+     * Called once per server tick.
+     */
+    public static void processReloadWork(MinecraftServer server) {
+        ReloadChange change;
+        while ((change = pendingReloads.poll()) != null) {
+            queueReloadWork(server, change);
+        }
+        if (reloadWork.isEmpty()) {
+            return;
+        }
+        int budget = VerbatimConfig.RELOAD_WORK_PER_TICK.get();
+        ReloadWork work;
+        while (budget-- > 0 && (work = reloadWork.poll()) != null) {
+            ServerPlayer player = server.getPlayerList().getPlayer(work.playerId);
+            if (player != null) { // Players who logged out meanwhile get the current config applied on login
+                applyReloadWork(player, work);
+            }
+        }
+        if (reloadWork.isEmpty()) {
+            Verbatim.LOGGER.info("[ChatChannelManager] Player channel states re-evaluated after config reload.");
+        }
+    }
+
+    // Diffs the two registries and queues work only for the (player, channel) pairs the change can affect
+    private static void queueReloadWork(MinecraftServer server, ReloadChange change) {
+        int queuedBefore = reloadWork.size();
+        for (ChannelConfig old : change.previous.all()) {
+            if (!change.current.contains(old.name)) {
+                queueForMembers(old.name, ReloadAction.LEAVE_REMOVED);
+            }
+        }
+        for (ChannelConfig config : change.current.all()) {
+            ChannelConfig old = change.previous.get(config.name);
+            if (config.alwaysOn && (old == null || !old.alwaysOn)) {
+                for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                    reloadWork.add(new ReloadWork(player.getUUID(), config.name, ReloadAction.JOIN_ALWAYS_ON));
+                }
+            } else if (old != null && config.permission.isPresent() && (old.alwaysOn || !old.permission.equals(config.permission))) {
+                queueForMembers(config.name, ReloadAction.RECHECK_PERMISSION);
+            }
+        }
+        Verbatim.LOGGER.info("[ChatChannelManager] Config reload queued {} player channel updates.", reloadWork.size() - queuedBefore);
+    }
+
+    private static void queueForMembers(String channelName, ReloadAction action) {
+        for (UUID memberId : membership.getMembers(channelName)) {
+            reloadWork.add(new ReloadWork(memberId, channelName, action));
+        }
+    }
+
+    private static void applyReloadWork(ServerPlayer player, ReloadWork work) {
+        // Re-read the current registry; a later reload may already have superseded this change
+        ChannelConfig config = registry.get(work.channelName);
+        if (work.action == ReloadAction.LEAVE_REMOVED) {
+            if (config == null && isJoined(player, work.channelName)) {
+                Verbatim.LOGGER.info("[ChatChannelManager] Channel '{}' was removed. Removing player {}.", work.channelName, player.getName().getString());
+                internalLeaveChannel(player, work.channelName);
+                ensurePlayerIsInADefaultFocus(player);
+            }
+        } else if (work.action == ReloadAction.RECHECK_PERMISSION) {
+            if (config != null && !config.alwaysOn && config.permission.isPresent() && isJoined(player, config)
+                    && !Verbatim.permissionService.hasPermission(player, config.permission.get(), 2)
+                    && !Verbatim.permissionService.isUserDataPending(player)) {
+                Verbatim.LOGGER.info("[ChatChannelManager] Player {} lost permission for joined channel '{}'. Auto-leaving.", player.getName().getString(), config.name);
+                autoLeaveChannel(player, config.name);
+            }
+        } else if (work.action == ReloadAction.JOIN_ALWAYS_ON) {
+            if (config != null && config.alwaysOn && !isJoined(player, config)) {
+                joinChannel(player, config.name);
+            }
+        }
+    }
+
+    /**
+     * Drops queued reload work. Called on server stop.
+     */
+    public static void clearReloadWork() {
+        pendingReloads.clear();
+        reloadWork.clear();
+    }
+
     private static void ensurePlayerIsInADefaultFocus(ServerPlayer player) {
         FocusTarget currentFocus = playerFocus.get(player.getUUID());
         if (currentFocus == null || !currentFocus.isValid() || 
             (currentFocus instanceof ChatFocus && !isJoined(player, ((ChatFocus) currentFocus).getChannelName()))) {
             ChannelConfig defaultChannel = getDefaultChannelConfig();
-            if (defaultChannel != null) {
+            if (defaultChannel != null && !defaultChannel.alwaysOn && defaultChannel.permission.isPresent()
+                    && Verbatim.permissionService.isUserDataPending(player)) {
+                // A denial now would only be provisional; revalidateChannelPermissions focuses once data has loaded
+                Verbatim.LOGGER.debug("[ChatChannelManager] Player {} permission data still loading. Deferring focus to default '{}'.", player.getName().getString(), defaultChannel.name);
+            } else if (defaultChannel != null) {
                 Verbatim.LOGGER.info("[ChatChannelManager] Player {} focus invalid or not joined. Focusing to default '{}'.", player.getName().getString(), defaultChannel.name);
                 focusChannel(player, defaultChannel.name); // This will also join if not already
             } else {
@@ -219,8 +470,32 @@ public class ChatChannelManager {
         }
     }
 
+    /**
+     * Queues the player's channel state for writing. Several mutations in one operation (e.g. a focus that
+     * also joins) coalesce into a single persistent data write in flushDirtyChannelStates at the end of the tick.
+     */
     private static void savePlayerChannelState(ServerPlayer player) {
-        Set<String> currentJoined = joinedChannels.getOrDefault(player.getUUID(), new HashSet<>());
+        dirtyChannelState.add(player.getUUID());
+    }
+
+    /**
+     * Writes the queued channel state of every online player. Called once per server tick and on server stop.
+     */
+    public static void flushDirtyChannelStates(MinecraftServer server) {
+        if (dirtyChannelState.isEmpty()) {
+            return;
+        }
+        for (UUID playerId : dirtyChannelState) {
+            ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+            if (player != null) {
+                writePlayerChannelState(player);
+            }
+        }
+        dirtyChannelState.clear();
+    }
+
+    private static void writePlayerChannelState(ServerPlayer player) {
+        Set<String> currentJoined = getJoinedChannels(player);
         player.getPersistentData().putString("verbatim:joined_channels", String.join(",", currentJoined));
         FocusTarget currentFocused = playerFocus.get(player.getUUID());
         if (currentFocused instanceof ChatFocus) {
@@ -236,8 +511,11 @@ public class ChatChannelManager {
         }
     }
 
+    /**
+     * Returns a snapshot of the names of the player's joined channels, in channel ID order.
+     */
     public static Set<String> getJoinedChannels(ServerPlayer player) {
-        return joinedChannels.getOrDefault(player.getUUID(), new HashSet<>());
+        return membership.getJoinedChannels(player.getUUID());
     }
 
     public static List<ChannelConfig> getJoinedChannelConfigs(ServerPlayer player) {
@@ -257,26 +535,31 @@ public class ChatChannelManager {
     }
 
     public static boolean isJoined(ServerPlayer player, String channelName) {
-        return getJoinedChannels(player).contains(channelName);
+        return membership.isJoined(player.getUUID(), channelName);
+    }
+
+    // Allocation-free membership test for hot paths that already hold the config
+    public static boolean isJoined(ServerPlayer player, ChannelConfig config) {
+        return membership.isJoined(player.getUUID(), config.id);
     }
     
     // Returns true if successfully joined, false if no permission or channel doesn't exist.
     private static boolean internalJoinChannel(ServerPlayer player, String channelName, boolean forceJoin) {
-        ChannelConfig config = channelConfigsByName.get(channelName);
+        ChannelConfig config = registry.get(channelName);
         if (config == null) return false;
 
         // Only check permission if the channel has one and isn't being force joined
         if (!forceJoin && config.permission.isPresent() && !Verbatim.permissionService.hasPermission(player, config.permission.get(), 2)) {
             return false;
         }
-        joinedChannels.computeIfAbsent(player.getUUID(), k -> new HashSet<>()).add(channelName);
+        membership.join(player.getUUID(), config.id);
         savePlayerChannelState(player);
         return true;
     }
 
     // Public facing join, with feedback messages
     public static boolean joinChannel(ServerPlayer player, String channelName) {
-        ChannelConfig config = channelConfigsByName.get(channelName);
+        ChannelConfig config = registry.get(channelName);
         if (config == null) {
             player.sendSystemMessage(Component.literal("Channel '" + channelName + "' not found.").withStyle(ChatFormatting.RED));
             return false;
@@ -301,6 +584,9 @@ public class ChatChannelManager {
                     .append(Component.literal("/channel leave").withStyle(ChatFormatting.WHITE, ChatFormatting.UNDERLINE)));
             }
             return true;
+        } else if (Verbatim.permissionService.isUserDataPending(player)) {
+            player.sendSystemMessage(Component.literal("Your permissions are still loading. Please try again in a moment.").withStyle(ChatFormatting.YELLOW));
+            return false;
         } else {
             player.sendSystemMessage(Component.literal("You do not have permission to join channel: ")
                 .append(ChatFormattingUtils.parseColors(config.displayPrefix + " " + config.name)).withStyle(ChatFormatting.RED));
@@ -328,20 +614,14 @@ public class ChatChannelManager {
     }
 
     private static void internalLeaveChannel(ServerPlayer player, String channelName) {
-        joinedChannels.computeIfPresent(player.getUUID(), (k, v) -> { 
-            v.remove(channelName); 
-            return v.isEmpty() ? null : v; 
-        });
-        if (joinedChannels.get(player.getUUID()) == null) {
-            joinedChannels.remove(player.getUUID());
-        }
+        membership.leave(player.getUUID(), channelName);
         // Do not remove focus here, autoLeaveChannel handles focus reset if needed.
         savePlayerChannelState(player);
     }
 
     // Public facing leave, with feedback, respects alwaysOn
     public static boolean leaveChannelCmd(ServerPlayer player, String channelName) {
-        ChannelConfig config = channelConfigsByName.get(channelName);
+        ChannelConfig config = registry.get(channelName);
         if (config == null) {
             player.sendSystemMessage(Component.literal("Channel '" + channelName + "' not found.").withStyle(ChatFormatting.RED));
             return false;
@@ -373,7 +653,7 @@ public class ChatChannelManager {
     }
 
     public static void focusChannel(ServerPlayer player, String channelName) {
-        ChannelConfig config = channelConfigsByName.get(channelName);
+        ChannelConfig config = registry.get(channelName);
         if (config == null) {
             player.sendSystemMessage(Component.literal("Cannot focus channel '" + channelName + "': Not found.").withStyle(ChatFormatting.RED));
             return;
@@ -383,7 +663,7 @@ public class ChatChannelManager {
         if (config.alwaysOn || !config.permission.isPresent() || Verbatim.permissionService.hasPermission(player, config.permission.get(), 2)) {
             boolean wasJoined = isJoined(player, channelName);
             internalJoinChannel(player, channelName, config.alwaysOn); // Ensure joined (force if alwaysOn)
-            playerFocus.put(player.getUUID(), ChatFocus.createChannelFocus(channelName));
+            playerFocus.put(player.getUUID(), config.focus);
             savePlayerChannelState(player);
             player.sendSystemMessage(Component.literal("Focused channel: ")
                 .append(ChatFormattingUtils.parseColors(config.displayPrefix + " " + config.name)).withStyle(ChatFormatting.GREEN));
@@ -395,6 +675,8 @@ public class ChatChannelManager {
                 player.sendSystemMessage(Component.literal("If you are not comfortable with this, please leave immediately using: ").withStyle(ChatFormatting.YELLOW)
                     .append(Component.literal("/channel leave").withStyle(ChatFormatting.WHITE, ChatFormatting.UNDERLINE)));
             }
+        } else if (Verbatim.permissionService.isUserDataPending(player)) {
+            player.sendSystemMessage(Component.literal("Your permissions are still loading. Please try again in a moment.").withStyle(ChatFormatting.YELLOW));
         } else {
             player.sendSystemMessage(Component.literal("Cannot focus channel '")
                 .append(ChatFormattingUtils.parseColors(config.displayPrefix + " " + config.name))
@@ -403,9 +685,10 @@ public class ChatChannelManager {
     }
 
     public static void playerLoggedOut(ServerPlayer player) {
-        savePlayerChannelState(player); // Ensure state is saved on logout
+        dirtyChannelState.remove(player.getUUID());
+        writePlayerChannelState(player); // Ensure state is saved on logout, bypassing the write-behind queue
         playerFocus.remove(player.getUUID());
-        joinedChannels.remove(player.getUUID());
+        membership.removeParticipant(player.getUUID());
         lastIncomingDmSender.remove(player.getUUID());
     }
 
@@ -475,12 +758,13 @@ public class ChatChannelManager {
             return playersInChannel; // Return empty list if server or channelName is invalid
         }
         // Check if the channel itself exists, otherwise no point iterating players
-        if (!channelConfigsByName.containsKey(channelName)) {
+        if (!registry.contains(channelName)) {
             return playersInChannel; 
         }
 
-        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-            if (isJoined(player, channelName)) {
+        for (UUID memberId : membership.getMembers(channelName)) {
+            ServerPlayer player = server.getPlayerList().getPlayer(memberId);
+            if (player != null) {
                 playersInChannel.add(player);
             }
         }
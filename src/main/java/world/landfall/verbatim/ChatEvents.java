@@ -6,24 +6,38 @@ import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.neoforge.event.ServerChatEvent;
+import net.neoforged.neoforge.event.entity.EntityTeleportEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.tick.PlayerTickEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
 import world.landfall.verbatim.chat.FocusTarget;
 import world.landfall.verbatim.chat.ChatFocus;
+import world.landfall.verbatim.chat.ReusedPacketDelivery;
+import world.landfall.verbatim.core.ChannelRouter;
+import world.landfall.verbatim.core.DistanceTiers;
+import world.landfall.verbatim.core.MessageTarget;
 import world.landfall.verbatim.specialchannels.FormattedMessageDetails;
 import world.landfall.verbatim.specialchannels.LocalChannelFormatter;
 import world.landfall.verbatim.discord.DiscordBot;
+import world.landfall.verbatim.discord.DiscordInbox;
+import world.landfall.verbatim.util.PlayerParticipant;
+import world.landfall.verbatim.util.PlayerSpatialIndex;
 import net.neoforged.neoforge.server.ServerLifecycleHooks;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.HashSet;
+import java.util.UUID;
+import java.util.function.DoubleFunction;
 
 public class ChatEvents {
 
     @SubscribeEvent
     public static void onLogin(PlayerEvent.PlayerLoggedInEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
+            PlayerSpatialIndex.update(player);
+            Verbatim.permissionService.prefetchUser(player);
             if (!ChatChannelManager.isInitialized()) {
                 Verbatim.LOGGER.warn("[Verbatim ChatEvent] ChatChannelManager not yet initialized during login for {}. Skipping channel setup.", player.getName().getString());
                 return;
@@ -35,34 +49,48 @@ public class ChatEvents {
                 DiscordBot.sendPlayerConnectionStatusToDiscord(player, true);
             }
 
-            ChatChannelManager.getFocus(player).ifPresent(focus -> {
-                if (focus instanceof ChatFocus && ((ChatFocus) focus).getType() == ChatFocus.FocusType.CHANNEL) {
-                    ChatChannelManager.ChannelConfig config = ChatChannelManager.getChannelConfigByName(((ChatFocus) focus).getChannelName()).orElse(null);
-                    if (config != null) {
-                        player.sendSystemMessage(Component.literal("🗨 Focused channel: ")
-                            .append(ChatFormattingUtils.parseColors(config.displayPrefix))
-                            .append(Component.literal(" " + config.name).withStyle(ChatFormatting.YELLOW))
-                        );
-                    }
-                } else if (focus instanceof ChatFocus && ((ChatFocus) focus).getType() == ChatFocus.FocusType.DM) {
-                    player.sendSystemMessage(Component.literal("💬 Focused DM: ")
-                        .append(Component.literal(focus.getDisplayName()).withStyle(ChatFormatting.YELLOW))
+            // Send the whole welcome as one packet rather than one line per channel
+            MutableComponent welcome = buildWelcomeMessage(player);
+            if (!welcome.getSiblings().isEmpty()) {
+                player.sendSystemMessage(welcome);
+            }
+        }
+    }
+
+    /**
+     * Composes the login summary (focus line, joined channels) into a single multi-line component.
+     */
+    private static MutableComponent buildWelcomeMessage(ServerPlayer player) {
+        MutableComponent welcome = Component.empty();
+        ChatChannelManager.getFocus(player).ifPresent(focus -> {
+            if (focus instanceof ChatFocus && ((ChatFocus) focus).getType() == ChatFocus.FocusType.CHANNEL) {
+                ChatChannelManager.ChannelConfig config = ChatChannelManager.getChannelConfigByName(((ChatFocus) focus).getChannelName()).orElse(null);
+                if (config != null) {
+                    welcome.append(Component.literal("🗨 Focused channel: ")
+                        .append(config.template.prefix)
+                        .append(Component.literal(" " + config.name).withStyle(ChatFormatting.YELLOW))
                     );
                 }
-            });
+            } else if (focus instanceof ChatFocus && ((ChatFocus) focus).getType() == ChatFocus.FocusType.DM) {
+                welcome.append(Component.literal("💬 Focused DM: ")
+                    .append(Component.literal(focus.getDisplayName()).withStyle(ChatFormatting.YELLOW))
+                );
+            }
+        });
 
-            Set<String> joinedChannels = ChatChannelManager.getJoinedChannels(player);
-            if (!joinedChannels.isEmpty()) {
-                player.sendSystemMessage(Component.literal("📞 Joined channels: ").withStyle(ChatFormatting.GRAY));
-                for (String joinedChannelName : joinedChannels) {
-                    ChatChannelManager.getChannelConfigByName(joinedChannelName).ifPresent(jc -> {
-                         player.sendSystemMessage(Component.literal("  - ")
-                            .append(ChatFormattingUtils.parseColors(jc.displayPrefix))
-                            .append(Component.literal(" " + jc.name).withStyle(ChatFormatting.DARK_AQUA)));
-                    });
-                }
+        List<ChatChannelManager.ChannelConfig> joinedChannels = ChatChannelManager.getJoinedChannelConfigs(player);
+        if (!joinedChannels.isEmpty()) {
+            if (!welcome.getSiblings().isEmpty()) {
+                welcome.append("\n");
+            }
+            welcome.append(Component.literal("📞 Joined channels: ").withStyle(ChatFormatting.GRAY));
+            for (ChatChannelManager.ChannelConfig jc : joinedChannels) {
+                welcome.append(Component.literal("\n  - ")
+                    .append(jc.template.prefix)
+                    .append(Component.literal(" " + jc.name).withStyle(ChatFormatting.DARK_AQUA)));
             }
         }
+        return welcome;
     }
 
     @SubscribeEvent
@@ -72,6 +100,67 @@ public class ChatEvents {
                 DiscordBot.sendPlayerConnectionStatusToDiscord(player, false);
             }
             ChatChannelManager.playerLoggedOut(player);
+            PlayerSpatialIndex.remove(player);
+            ChatFormattingUtils.invalidatePlayerNameCache(player.getUUID());
+            Verbatim.permissionService.forgetPlayer(player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onNameFormat(PlayerEvent.NameFormat event) {
+        // Fired whenever the display name is recomputed; the next message rebuilds the name component
+        ChatFormattingUtils.invalidatePlayerNameCache(event.getEntity().getUUID());
+    }
+
+    /**
+     * Called from a LuckPerms thread once a player's permission data has loaded asynchronously.
+     * Channel membership kept provisionally at login is re-checked on the server thread.
+     */
+    public static void onPermissionDataLoaded(UUID playerId) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) return;
+        server.execute(() -> {
+            ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+            if (player != null && ChatChannelManager.isInitialized()) {
+                ChatChannelManager.revalidateChannelPermissions(player);
+            }
+        });
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        ChatChannelManager.processReloadWork(event.getServer());
+        DiscordInbox.tick(event.getServer());
+        ChatChannelManager.flushDirtyChannelStates(event.getServer());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerTick(PlayerTickEvent.Post event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            PlayerSpatialIndex.update(player);
+        }
+    }
+
+    // Lowest priority so a teleport cancelled by another handler doesn't move the player in the index
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onTeleport(EntityTeleportEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            PlayerSpatialIndex.updateForTeleport(player, event.getTargetX(), event.getTargetZ());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            PlayerSpatialIndex.update(player);
+            Verbatim.permissionService.invalidate(player.getUUID()); // Nodes may depend on the dimension context
+        }
+    }
+
+    @SubscribeEvent
+    public static void onRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            PlayerSpatialIndex.update(player); // A new ServerPlayer, possibly in another level
         }
     }
 
@@ -88,92 +177,65 @@ public class ChatEvents {
             return;
         }
 
-        String messageContent = rawMessageText;
+        // One registry snapshot for the whole message, so a concurrent reload can't change the channel set mid-dispatch
+        ChatChannelManager.ChannelRegistry channels = ChatChannelManager.getRegistry();
+        MessageTarget messageTarget = MessageTarget.resolve(rawMessageText, prefix -> channels.byShortcut(prefix).isPresent());
+        String messageContent = messageTarget.content;
         Optional<FocusTarget> targetFocusOpt = Optional.empty();
 
-        int colonIndex = rawMessageText.indexOf(':');
-        int semicolonIndex = rawMessageText.indexOf(';');
-        int separatorIndex = -1;
+        if (messageTarget.kind == MessageTarget.Kind.DIRECT_MESSAGE) {
+            ChatChannelManager.handleDPrefix(sender);
+            if (messageContent.isEmpty()) {
+                Verbatim.LOGGER.debug("[Verbatim ChatEvent] d: prefix used with no message. Focus changed only.");
+                return;
+            }
 
-        if (colonIndex != -1 && semicolonIndex != -1) {
-            separatorIndex = Math.min(colonIndex, semicolonIndex);
-        } else if (colonIndex != -1) {
-            separatorIndex = colonIndex;
-        } else if (semicolonIndex != -1) {
-            separatorIndex = semicolonIndex;
+            Optional<FocusTarget> currentFocus = ChatChannelManager.getFocus(sender);
+            if (currentFocus.isPresent() && currentFocus.get() instanceof ChatFocus && ((ChatFocus) currentFocus.get()).getType() == ChatFocus.FocusType.DM) {
+                targetFocusOpt = currentFocus;
+            } else {
+                Verbatim.LOGGER.debug("[Verbatim ChatEvent] d: prefix failed to establish DM focus. Message not sent.");
+                return;
+            }
         }
-
-        if (separatorIndex != -1 && separatorIndex > 0) { 
-            String potentialPrefix = rawMessageText.substring(0, separatorIndex);
-            
-            if ("d".equals(potentialPrefix)) {
-                ChatChannelManager.handleDPrefix(sender);
-                messageContent = rawMessageText.substring(separatorIndex + 1).trim();
-                
-                if (messageContent.isEmpty()) {
-                    Verbatim.LOGGER.debug("[Verbatim ChatEvent] d: prefix used with no message. Focus changed only.");
-                    return; 
-                }
-                
-                Optional<FocusTarget> currentFocus = ChatChannelManager.getFocus(sender);
-                if (currentFocus.isPresent() && currentFocus.get() instanceof ChatFocus && ((ChatFocus) currentFocus.get()).getType() == ChatFocus.FocusType.DM) {
-                    targetFocusOpt = currentFocus;
-                } else {
-                    Verbatim.LOGGER.debug("[Verbatim ChatEvent] d: prefix failed to establish DM focus. Message not sent.");
-                    return;
-                }
+        else if (messageTarget.kind == MessageTarget.Kind.DEFAULT_CHANNEL) {
+            ChatChannelManager.ChannelConfig defaultChannel = channels.defaultChannel();
+            if (defaultChannel == null) {
+                sender.sendSystemMessage(Component.literal("No default channel configured for 'g:' prefix.").withStyle(ChatFormatting.RED));
+                return;
             }
-            else if ("g".equals(potentialPrefix)) { 
-                ChatChannelManager.ChannelConfig defaultChannel = ChatChannelManager.getDefaultChannelConfig();
-                if (defaultChannel != null) {
-                    ChatChannelManager.focusChannel(sender, defaultChannel.name); 
-                    targetFocusOpt = Optional.of(ChatFocus.createChannelFocus(defaultChannel.name));
-                    messageContent = rawMessageText.substring(separatorIndex + 1).trim();
-                    
-                    if (messageContent.isEmpty()) {
-                        Verbatim.LOGGER.debug("[Verbatim ChatEvent] g: prefix used with no message. Focus changed only.");
-                        return; 
-                    }
-                } else {
-                    sender.sendSystemMessage(Component.literal("No default channel configured for 'g:' prefix.").withStyle(ChatFormatting.RED));
-                    return;
-                }
+            ChatChannelManager.focusChannel(sender, defaultChannel.name);
+            targetFocusOpt = Optional.of(defaultChannel.focus);
+            if (messageContent.isEmpty()) {
+                Verbatim.LOGGER.debug("[Verbatim ChatEvent] g: prefix used with no message. Focus changed only.");
+                return;
             }
-            else {
-                Optional<ChatChannelManager.ChannelConfig> targetChannelByShortcut = ChatChannelManager.getChannelConfigByShortcut(potentialPrefix);
+        }
+        else if (messageTarget.kind == MessageTarget.Kind.SHORTCUT) {
+            ChatChannelManager.ChannelConfig prospectiveChannel = channels.byShortcut(messageTarget.shortcut).orElseThrow();
+            Verbatim.LOGGER.debug("[Verbatim ChatEvent] Shortcut '{}' targets channel: {}. Checking permission...", messageTarget.shortcut, prospectiveChannel.name);
 
-                if (targetChannelByShortcut.isPresent()) {
-                    ChatChannelManager.ChannelConfig prospectiveChannel = targetChannelByShortcut.get();
-                    Verbatim.LOGGER.debug("[Verbatim ChatEvent] Shortcut '{}' targets channel: {}. Checking permission...", potentialPrefix, prospectiveChannel.name);
-                    
-                    ChatChannelManager.focusChannel(sender, prospectiveChannel.name);
-                    
-                    if (ChatChannelManager.isJoined(sender, prospectiveChannel.name)) {
-                        targetFocusOpt = Optional.of(ChatFocus.createChannelFocus(prospectiveChannel.name));
-                        messageContent = rawMessageText.substring(separatorIndex + 1).trim();
-                        Verbatim.LOGGER.debug("[Verbatim ChatEvent] Shortcut permission GRANTED for '{}'. Player focused. Message content: \"{}\"", prospectiveChannel.name, messageContent);
-                        
-                        if (messageContent.isEmpty()) {
-                            Verbatim.LOGGER.debug("[Verbatim ChatEvent] Message content empty after shortcut processing for '{}'. No message to send.", prospectiveChannel.name);
-                            return; 
-                        }
-                    } else {
-                        return; 
-                    }
-                } else {
-                    Verbatim.LOGGER.debug("[Verbatim ChatEvent] No channel found for shortcut: {}", potentialPrefix);
-                }
+            ChatChannelManager.focusChannel(sender, prospectiveChannel.name);
+            if (!ChatChannelManager.isJoined(sender, prospectiveChannel)) {
+                return;
+            }
+            targetFocusOpt = Optional.of(prospectiveChannel.focus);
+            Verbatim.LOGGER.debug("[Verbatim ChatEvent] Shortcut permission GRANTED for '{}'. Player focused. Message content: \"{}\"", prospectiveChannel.name, messageContent);
+            if (messageContent.isEmpty()) {
+                Verbatim.LOGGER.debug("[Verbatim ChatEvent] Message content empty after shortcut processing for '{}'. No message to send.", prospectiveChannel.name);
+                return;
             }
         }
+        // Otherwise (FOCUSED) the message goes to the current focus below
 
         if (targetFocusOpt.isEmpty()) {
             targetFocusOpt = ChatChannelManager.getFocus(sender);
             if (targetFocusOpt.isEmpty()) {
                 Verbatim.LOGGER.error("[Verbatim ChatEvent] Player {} has no focus. Attempting to set to default.", sender.getName().getString());
-                ChatChannelManager.ChannelConfig defaultChannel = ChatChannelManager.getDefaultChannelConfig();
+                ChatChannelManager.ChannelConfig defaultChannel = channels.defaultChannel();
                 if (defaultChannel != null) {
                     ChatChannelManager.focusChannel(sender, defaultChannel.name);
-                    targetFocusOpt = Optional.of(ChatFocus.createChannelFocus(defaultChannel.name));
+                    targetFocusOpt = Optional.of(defaultChannel.focus);
                     sender.sendSystemMessage(Component.literal("You were not focused on anything. Message sent to default: ")
                         .append(ChatFormattingUtils.parseColors(defaultChannel.displayPrefix))
                         .append(Component.literal(" " + defaultChannel.name).withStyle(ChatFormatting.YELLOW)));
@@ -218,7 +280,7 @@ public class ChatEvents {
 
             if (finalTarget instanceof ChatFocus && ((ChatFocus) finalTarget).getType() == ChatFocus.FocusType.CHANNEL) {
                 ChatFocus channelFocus = (ChatFocus) finalTarget;
-                Optional<ChatChannelManager.ChannelConfig> channelConfigOpt = ChatChannelManager.getChannelConfigByName(channelFocus.getChannelName());
+                Optional<ChatChannelManager.ChannelConfig> channelConfigOpt = channels.byName(channelFocus.getChannelName());
                 
                 if (channelConfigOpt.isEmpty()) {
                     sender.sendSystemMessage(Component.literal("Error: Focused channel no longer exists.").withStyle(ChatFormatting.RED));
@@ -228,6 +290,10 @@ public class ChatEvents {
                 ChatChannelManager.ChannelConfig finalTargetChannel = channelConfigOpt.get();
 
                 if (!finalTargetChannel.alwaysOn && finalTargetChannel.permission.isPresent() && !Verbatim.permissionService.hasPermission(sender, finalTargetChannel.permission.get(), 2)) {
+                    if (Verbatim.permissionService.isUserDataPending(sender)) {
+                        sender.sendSystemMessage(Component.literal("Your permissions are still loading. Please try again in a moment.").withStyle(ChatFormatting.YELLOW));
+                        return;
+                    }
                     Verbatim.LOGGER.info("[Verbatim ChatEvent] Player {} lost permission to send to target channel '{}'. Auto-leaving & focusing default.", sender.getName().getString(), finalTargetChannel.name);
                     ChatChannelManager.autoLeaveChannel(sender, finalTargetChannel.name);
                     sender.sendSystemMessage(Component.literal("You no longer have permission to send messages in '")
@@ -236,28 +302,8 @@ public class ChatEvents {
                     return;
                 }
 
-                if (DiscordBot.isEnabled() && "global".equals(finalTargetChannel.name)) {
-                    DiscordBot.sendPlayerChatMessageToDiscord(sender, messageContent);
-                }
-
-                Optional<FormattedMessageDetails> specialFormatResult = LocalChannelFormatter.formatLocalMessage(sender, finalTargetChannel, messageContent);
-                
-                MutableComponent finalMessage;
-                int effectiveRange;
-                
-                if (specialFormatResult.isPresent()) {
-                    FormattedMessageDetails details = specialFormatResult.get();
-                    finalMessage = details.formattedMessage;
-                    effectiveRange = details.effectiveRange;
-                } else {
-                    effectiveRange = finalTargetChannel.range;
-                    finalMessage = Component.empty();
-                    finalMessage.append(ChatFormattingUtils.parseColors(finalTargetChannel.displayPrefix));
-                    finalMessage.append(Component.literal(" "));
-                    Component playerNameComponent = ChatFormattingUtils.createPlayerNameComponent(sender, finalTargetChannel.nameColor, false);
-                    finalMessage.append(playerNameComponent);
-                    finalMessage.append(ChatFormattingUtils.parseColors(finalTargetChannel.separatorColor + finalTargetChannel.separator));
-                    finalMessage.append(ChatFormattingUtils.parseColors(finalTargetChannel.messageColor + messageContent));
+                if (finalTargetChannel.discordChannelId.isPresent() && DiscordBot.isEnabled()) {
+                    DiscordBot.sendPlayerChatMessageToDiscord(sender, finalTargetChannel, messageContent);
                 }
 
                 MinecraftServer server = sender.getServer();
@@ -266,31 +312,11 @@ public class ChatEvents {
                     return;
                 }
 
-                for (ServerPlayer recipient : server.getPlayerList().getPlayers()) {
-                    if (ChatChannelManager.isJoined(recipient, finalTargetChannel.name)) {
-                        if (finalTargetChannel.alwaysOn || !finalTargetChannel.permission.isPresent() || Verbatim.permissionService.hasPermission(recipient, finalTargetChannel.permission.get(), 2)) {
-                            if (effectiveRange >= 0) {
-                                double distSqr = recipient.distanceToSqr(sender);
-                                if (recipient.equals(sender)) {
-                                    recipient.sendSystemMessage(finalMessage);
-                                } else {
-                                    MutableComponent messageToSend = specialFormatResult
-                                        .map(details -> details.getMessageForDistance(distSqr))
-                                        .orElseGet(() -> distSqr <= effectiveRange * effectiveRange ? finalMessage : null);
-                                    
-                                    if (messageToSend != null) {
-                                        recipient.sendSystemMessage(messageToSend);
-                                    }
-                                }
-                            } else {
-                                recipient.sendSystemMessage(finalMessage);
-                            }
-                        } else {
-                            Verbatim.LOGGER.info("[Verbatim ChatEvent] Recipient {} is joined to '{}' but lost permission. Auto-leaving.", recipient.getName().getString(), finalTargetChannel.name);
-                            ChatChannelManager.autoLeaveChannel(recipient, finalTargetChannel.name);
-                        }
-                    }
-                }
+                deliverChannelMessage(sender, finalTargetChannel, messageContent, queryRadius -> queryRadius >= 0
+                    // Only players in nearby cells can hear a ranged message
+                    ? PlayerSpatialIndex.getMembersNear(sender, queryRadius, candidate -> ChatChannelManager.isJoined(candidate.player, finalTargetChannel))
+                    // Snapshot of the channel's members; auto-leaves during delivery mutate the live index
+                    : PlayerSpatialIndex.participantsFor(ChatChannelManager.getPlayersInChannel(server, finalTargetChannel.name)));
             }
         } catch (NoClassDefFoundError e) {
             Verbatim.LOGGER.error("[Verbatim ChatEvent] Class loading error during message processing. Chat system may still be initializing.", e);
@@ -301,40 +327,53 @@ public class ChatEvents {
         }
     }
     
-    public static void onConfigReload() {
-        ChatChannelManager.loadConfiguredChannels();
-        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
-        if (server != null) {
-            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-                Set<String> currentJoined = ChatChannelManager.getJoinedChannels(player);
-                for (String joinedChannelName : new HashSet<>(currentJoined)) {
-                    ChatChannelManager.getChannelConfigByName(joinedChannelName).ifPresent(config -> {
-                        if (!config.alwaysOn && config.permission.isPresent() && !Verbatim.permissionService.hasPermission(player, config.permission.get(), 2)) {
-                            Verbatim.LOGGER.info("[Verbatim ConfigReload] Player {} lost permission for joined channel '{}' after config reload. Auto-leaving.", player.getName().getString(), config.name);
-                            ChatChannelManager.autoLeaveChannel(player, config.name);
-                        }
-                    });
-                }
+    /**
+     * Formats a channel message and hands it to every candidate in range, auto-leaving recipients who lost
+     * permission to the channel. The sender must already be allowed to send there.
+     * Used by onChat and by the fan-out benchmark, which supplies its own candidates.
+     *
+     * @param candidatesWithin Returns the candidate recipients (the sender included, if a member) for a query
+     *                         radius in blocks; a negative radius means the channel is unranged
+     * @return The delivery, already sent
+     */
+    public static ReusedPacketDelivery deliverChannelMessage(ServerPlayer sender, ChatChannelManager.ChannelConfig channel, String messageContent,
+                                                             DoubleFunction<List<PlayerParticipant>> candidatesWithin) {
+        FormattedMessageDetails details = LocalChannelFormatter.formatLocalMessage(sender, channel, messageContent).orElse(null);
+        MutableComponent finalMessage;
+        int effectiveRange;
+        if (details != null) {
+            finalMessage = details.formattedMessage;
+            effectiveRange = details.effectiveRange;
+        } else {
+            effectiveRange = channel.range;
+            Component playerNameComponent = ChatFormattingUtils.createPlayerNameComponent(sender, channel.nameColor, false);
+            finalMessage = channel.template.format(playerNameComponent, messageContent);
+        }
 
-                for (ChatChannelManager.ChannelConfig config : ChatChannelManager.getAllChannelConfigs()) {
-                    if (config.alwaysOn) {
-                        ChatChannelManager.joinChannel(player, config.name);
-                    }
-                }
+        // Local formats fade out beyond their range; other ranged channels stop at it
+        DistanceTiers tiers = details != null ? details.getTiers() : new DistanceTiers(effectiveRange, 0);
+        double queryRadius = effectiveRange < 0 ? -1 : details != null ? effectiveRange * LocalChannelFormatter.FADE_MULTIPLIER : effectiveRange;
+        List<PlayerParticipant> candidates = candidatesWithin.apply(queryRadius);
 
-                ChatChannelManager.getFocusedChannelConfig(player).ifPresentOrElse(focusedConfig -> {
-                    if (!ChatChannelManager.isJoined(player, focusedConfig.name)) {
-                        Verbatim.LOGGER.info("[Verbatim ConfigReload] Player {}'s focused channel '{}' is no longer joined. Resetting focus.", player.getName().getString(), focusedConfig.name);
-                        ChatChannelManager.ChannelConfig defaultChannel = ChatChannelManager.getDefaultChannelConfig();
-                        if (defaultChannel != null) ChatChannelManager.focusChannel(player, defaultChannel.name);
-                    }
-                }, () -> {
-                    Verbatim.LOGGER.info("[Verbatim ConfigReload] Player {} has no focused channel. Resetting focus.", player.getName().getString());
-                    ChatChannelManager.ChannelConfig defaultChannel = ChatChannelManager.getDefaultChannelConfig();
-                    if (defaultChannel != null) ChatChannelManager.focusChannel(player, defaultChannel.name);
-                });
+        ReusedPacketDelivery delivery = new ReusedPacketDelivery();
+        ChannelRouter.route(PlayerSpatialIndex.participantFor(sender), candidates, tiers, (candidate, tier) -> {
+            ServerPlayer recipient = candidate.player;
+            if (channel.alwaysOn || !channel.permission.isPresent() || Verbatim.permissionService.hasPermission(recipient, channel.permission.get(), 2)) {
+                delivery.add(recipient, details != null ? details.getMessageForTier(tier) : finalMessage);
+            } else if (!Verbatim.permissionService.isUserDataPending(recipient)) {
+                Verbatim.LOGGER.info("[Verbatim ChatEvent] Recipient {} is joined to '{}' but lost permission. Auto-leaving.", recipient.getName().getString(), channel.name);
+                ChatChannelManager.autoLeaveChannel(recipient, channel.name);
             }
-            Verbatim.LOGGER.info("[Verbatim ConfigReload] Player channel states re-evaluated.");
-        }
+        });
+        delivery.send();
+        return delivery;
+    }
+
+    /**
+     * Reloads the channel config. Only players in channels that changed are re-evaluated, spread across
+     * the following server ticks (see ChatChannelManager#processReloadWork). Server thread only.
+     */
+    public static void onConfigReload() {
+        ChatChannelManager.reloadConfiguredChannels();
     }
 }
@@ -8,47 +8,173 @@ import net.minecraft.network.chat.HoverEvent;
 import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class ChatFormattingUtils {
 
+    private static final int PARSE_CACHE_CAPACITY = 256;
+
+    // Parsed (text, style) runs for constant inputs such as channel prefixes and separators.
+    // Access-ordered so the least recently used entry is evicted once the cache is full.
+    private static final Map<String, Segment[]> PARSE_CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Segment[]> eldest) {
+            return size() > PARSE_CACHE_CAPACITY;
+        }
+    };
+
+    // Name components per player, shared across messages; they are appended to messages but never modified
+    private static final Map<UUID, CachedPlayerNames> PLAYER_NAME_CACHE = new ConcurrentHashMap<>();
+
+    private static final class CachedPlayerNames {
+        final String rawDisplayName;
+        final Map<String, Component> componentsByVariant = new ConcurrentHashMap<>(); // Keyed by isDM + colour prefix
+
+        CachedPlayerNames(String rawDisplayName) {
+            this.rawDisplayName = rawDisplayName;
+        }
+    }
+
+    // A run of text that shares one style; Style is immutable so segments can be reused freely
+    private static final class Segment {
+        final String text;
+        final Style style;
+
+        Segment(String text, Style style) {
+            this.text = text;
+            this.style = style;
+        }
+    }
+
     public static Component parseColors(String text) {
         if (text == null || text.isEmpty()) {
             return Component.empty(); // Prefer Component.empty() over Component.literal("")
         }
+        return buildComponent(lex(text, Style.EMPTY));
+    }
+
+    /**
+     * Parses text as if it were prefixed by codes that resolve to the given style, e.g.
+     * parseColors(content, parseStyle("&7")) is equivalent to parseColors("&7" + content).
+     *
+     * @param text The text to parse. Can be null or empty.
+     * @param baseStyle The style in effect before the first character of text.
+     * @return The parsed component.
+     */
+    public static Component parseColors(String text, Style baseStyle) {
+        if (text == null || text.isEmpty()) {
+            return Component.empty();
+        }
+        return buildComponent(lex(text, baseStyle));
+    }
+
+    /**
+     * Same as parseColors, but remembers the parsed result for the input. Use this for strings that
+     * come from config (channel prefixes, separators, colour prefixes) rather than player input, so the
+     * bounded cache only holds values that repeat. Each call still returns a fresh component that the
+     * caller may modify.
+     */
+    public static Component parseColorsCached(String text) {
+        if (text == null || text.isEmpty()) {
+            return Component.empty();
+        }
+        Segment[] segments;
+        synchronized (PARSE_CACHE) {
+            segments = PARSE_CACHE.get(text);
+        }
+        if (segments == null) {
+            segments = lex(text, Style.EMPTY);
+            synchronized (PARSE_CACHE) {
+                PARSE_CACHE.put(text, segments);
+            }
+        }
+        return buildComponent(segments);
+    }
 
+    private static MutableComponent buildComponent(Segment[] segments) {
         MutableComponent mainComponent = Component.literal("");
-        // Split by color/formatting codes, ensuring the codes themselves are captured for processing.
-        // This regex splits the string by looking ahead for an ampersand followed by a valid code character.
-        String[] parts = text.split("(?i)(?=&[0-9a-fk-or])");
-
-        Style currentStyle = Style.EMPTY;
-
-        for (String part : parts) {
-            if (part.isEmpty()) continue;
-
-            if (part.startsWith("&") && part.length() >= 2) {
-                char code = part.charAt(1);
-                ChatFormatting formatting = ChatFormatting.getByCode(code);
-                String textContent = part.substring(2);
-
-                if (formatting != null) {
-                    if (formatting.isColor()) {
-                        currentStyle = Style.EMPTY.withColor(formatting); // Reset style for new color
-                    } else if (formatting == ChatFormatting.RESET) {
-                        currentStyle = Style.EMPTY; // Full reset
-                    } else { // It's a formatting code (bold, italic, etc.)
-                        currentStyle = applyStyle(currentStyle, formatting);
-                    }
-                }
-                
-                if (!textContent.isEmpty()) {
-                    mainComponent.append(Component.literal(textContent).setStyle(currentStyle));
-                }
+        for (Segment segment : segments) {
+            mainComponent.append(Component.literal(segment.text).setStyle(segment.style));
+        }
+        return mainComponent;
+    }
+
+    /**
+     * Single pass over the text: an ampersand followed by a valid code character (case-insensitive)
+     * ends the current run and changes the style; anything else is literal text.
+     * A colour code resets the style, &r clears it, and format codes add to it.
+     */
+    private static Segment[] lex(String text, Style baseStyle) {
+        List<Segment> segments = new ArrayList<>(4);
+        Style currentStyle = baseStyle;
+        int length = text.length();
+        int runStart = 0;
+        int i = 0;
+        while (i < length) {
+            ChatFormatting formatting = (text.charAt(i) == '&' && i + 1 < length) ? getFormattingByCode(text.charAt(i + 1)) : null;
+            if (formatting == null) {
+                i++;
+                continue;
+            }
+            if (i > runStart) {
+                segments.add(new Segment(text.substring(runStart, i), currentStyle));
+            }
+            if (formatting.isColor()) {
+                currentStyle = Style.EMPTY.withColor(formatting); // Reset style for new color
+            } else if (formatting == ChatFormatting.RESET) {
+                currentStyle = Style.EMPTY; // Full reset
+            } else { // It's a formatting code (bold, italic, etc.)
+                currentStyle = applyStyle(currentStyle, formatting);
+            }
+            i += 2;
+            runStart = i;
+        }
+        if (runStart < length) {
+            segments.add(new Segment(text.substring(runStart), currentStyle));
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    // Only the codes accepted by the original "&[0-9a-fk-or]" pattern, matched case-insensitively
+    private static ChatFormatting getFormattingByCode(char code) {
+        char c = Character.toLowerCase(code);
+        if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'k' && c <= 'o') || c == 'r') {
+            return ChatFormatting.getByCode(c);
+        }
+        return null;
+    }
+
+    /**
+     * Resolves a string of formatting codes (e.g., "&7" or "&c&l") to the Style that
+     * parseColors would apply to text following them. Non-code characters are ignored.
+     *
+     * @param codes The formatting code string. Can be null or empty.
+     * @return The resulting style, or Style.EMPTY if there are no codes.
+     */
+    public static Style parseStyle(String codes) {
+        Style style = Style.EMPTY;
+        if (codes == null) {
+            return style;
+        }
+        for (int i = 0; i + 1 < codes.length(); i++) {
+            if (codes.charAt(i) != '&') continue;
+            ChatFormatting formatting = getFormattingByCode(codes.charAt(i + 1));
+            if (formatting == null) continue;
+            if (formatting.isColor()) {
+                style = Style.EMPTY.withColor(formatting);
+            } else if (formatting == ChatFormatting.RESET) {
+                style = Style.EMPTY;
             } else {
-                // No color code at the beginning of this part, append with current style
-                mainComponent.append(Component.literal(part).setStyle(currentStyle));
+                style = applyStyle(style, formatting);
             }
+            i++;
         }
-        return mainComponent;
+        return style;
     }
 
     // Helper to apply specific formatting to a style
@@ -71,8 +197,27 @@ public class ChatFormattingUtils {
      * @return A component with the appropriate name and hover text
      */
     public static Component createPlayerNameComponent(ServerPlayer player, String colorPrefix, boolean isDM) {
-        String username = player.getName().getString();
         String displayName = player.getDisplayName().getString(); // Get raw display name
+        CachedPlayerNames cached = PLAYER_NAME_CACHE.get(player.getUUID());
+        if (cached == null || !cached.rawDisplayName.equals(displayName)) {
+            // First message from this player, or their display name changed since the entry was built
+            cached = new CachedPlayerNames(displayName);
+            PLAYER_NAME_CACHE.put(player.getUUID(), cached);
+        }
+        String variantKey = (isDM ? "dm:" : "channel:") + colorPrefix;
+        return cached.componentsByVariant.computeIfAbsent(variantKey, k -> buildPlayerNameComponent(player, displayName, colorPrefix, isDM));
+    }
+
+    /**
+     * Drops the cached name components for a player. Called when their display name is refreshed
+     * and when they log out.
+     */
+    public static void invalidatePlayerNameCache(UUID playerId) {
+        PLAYER_NAME_CACHE.remove(playerId);
+    }
+
+    private static Component buildPlayerNameComponent(ServerPlayer player, String displayName, String colorPrefix, boolean isDM) {
+        String username = player.getName().getString();
         String strippedDisplayName = stripFormattingCodes(displayName); // Strip codes for comparison and potential use
 
         ClickEvent clickEvent = new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/msg " + username + " ");
@@ -1,19 +1,24 @@
 package world.landfall.verbatim;
 
 import com.mojang.logging.LogUtils;
+import net.minecraft.server.MinecraftServer;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
 import net.neoforged.neoforge.event.server.ServerStartingEvent;
 import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.common.Mod;
+import net.neoforged.fml.event.config.ModConfigEvent;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import org.slf4j.Logger;
 import world.landfall.verbatim.command.VerbatimCommands;
 import world.landfall.verbatim.discord.DiscordBot;
+import world.landfall.verbatim.discord.DiscordInbox;
 import world.landfall.verbatim.util.PermissionService;
+import world.landfall.verbatim.util.PlayerSpatialIndex;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.apache.logging.log4j.Level;
 
@@ -29,18 +34,37 @@ public class Verbatim {
         LOGGER.info("[Verbatim] Debug logging enabled");
 
         modEventBus.addListener(this::commonSetup);
+        modEventBus.addListener(this::onConfigReloading);
         modContainer.registerConfig(net.neoforged.fml.config.ModConfig.Type.SERVER, VerbatimConfig.SPEC);
 
         NeoForge.EVENT_BUS.register(this);
         NeoForge.EVENT_BUS.register(ChatEvents.class);
         
         permissionService = new PermissionService();
+        permissionService.setUserDataLoadedListener(ChatEvents::onPermissionDataLoaded);
     }
 
     private void commonSetup(final FMLCommonSetupEvent event) {
         LOGGER.info("[Verbatim] Common setup complete.");
     }
 
+    // Fired on the config watcher thread; the reload itself runs on the server thread
+    private void onConfigReloading(final ModConfigEvent.Reloading event) {
+        if (event.getConfig().getSpec() != VerbatimConfig.SPEC) {
+            return;
+        }
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return; // Channels are loaded from the current config when the server starts
+        }
+        server.execute(() -> {
+            if (ChatChannelManager.isInitialized()) {
+                LOGGER.info("[Verbatim] Config file changed, reloading chat channels...");
+                ChatEvents.onConfigReload();
+            }
+        });
+    }
+
     @SubscribeEvent
     public void onRegisterCommands(RegisterCommandsEvent event) {
         Verbatim.LOGGER.info("Registering Verbatim commands");
@@ -62,7 +86,11 @@ public class Verbatim {
 
     @SubscribeEvent
     public void onServerStopping(ServerStoppingEvent event) {
+        ChatChannelManager.flushDirtyChannelStates(event.getServer());
         LOGGER.info("Server is stopping! Shutting down Discord Bot...");
         DiscordBot.shutdown();
+        DiscordInbox.clear();
+        PlayerSpatialIndex.clear();
+        ChatChannelManager.clearReloadWork();
     }
 }
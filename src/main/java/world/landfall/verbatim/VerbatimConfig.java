@@ -4,6 +4,7 @@ import com.electronwill.nightconfig.core.CommentedConfig;
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.toml.TomlFormat;
 import net.neoforged.neoforge.common.ModConfigSpec;
+import world.landfall.verbatim.discord.ChatRelayBuffer;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -16,6 +17,8 @@ public class VerbatimConfig {
     public static final ModConfigSpec.ConfigValue<List<? extends UnmodifiableConfig>> CHANNELS;
     public static final ModConfigSpec.ConfigValue<String> DEFAULT_CHANNEL_NAME;
     public static final ModConfigSpec.ConfigValue<String> CHANNELS_INFO;
+    public static final ModConfigSpec.IntValue LOCAL_OBSCURE_TIERS;
+    public static final ModConfigSpec.IntValue RELOAD_WORK_PER_TICK;
 
     // Discord Integration Config
     public static final ModConfigSpec.ConfigValue<String> DISCORD_BOT_TOKEN;
@@ -24,6 +27,13 @@ public class VerbatimConfig {
     public static final ModConfigSpec.ConfigValue<String> DISCORD_MESSAGE_SEPARATOR;
     public static final ModConfigSpec.BooleanValue DISCORD_BOT_ENABLED;
     public static final ModConfigSpec.BooleanValue DISCORD_USE_EMBED_MODE;
+    public static final ModConfigSpec.BooleanValue DISCORD_USE_WEBHOOK_MODE;
+    public static final ModConfigSpec.IntValue DISCORD_CONNECTION_BATCH_SECONDS;
+    public static final ModConfigSpec.IntValue DISCORD_RELAY_WINDOW_MILLIS;
+    public static final ModConfigSpec.IntValue DISCORD_RELAY_BUFFER_SIZE;
+    public static final ModConfigSpec.EnumValue<ChatRelayBuffer.OverflowPolicy> DISCORD_RELAY_OVERFLOW_POLICY;
+    public static final ModConfigSpec.IntValue DISCORD_INBOUND_MESSAGES_PER_TICK;
+    public static final ModConfigSpec.IntValue DISCORD_PRESENCE_MIN_INTERVAL_SECONDS;
 
     static {
         BUILDER.push("Verbatim Mod Configuration");
@@ -46,7 +56,9 @@ public class VerbatimConfig {
             "  messageColor: String (optional) - Color for the message content (e.g., \"&f\"). Defaults to white.",
             "  alwaysOn: Boolean (optional) - If true, players cannot '/channel leave' this channel. Defaults to false.",
             "  specialChannelType: String (optional) - Special behavior type (e.g., \"local\" for roleplay features). Defaults to none.",
-            "  mature: Boolean (optional) - If true, shows a mature content warning when joining. Defaults to false."
+            "  mature: Boolean (optional) - If true, shows a mature content warning when joining. Defaults to false.",
+            "  discordChannelId: String (optional) - Discord channel mirrored with this channel in both directions.",
+            "    The channel named \"global\" falls back to discordChannelId from the Discord section if omitted."
         ).define("channelsInfo", "");
 
         Supplier<List<? extends UnmodifiableConfig>> defaultChannelsSupplier = () -> {
@@ -159,6 +171,10 @@ public class VerbatimConfig {
                 Verbatim.LOGGER.warn("[VerbatimConfigValidator] Channel '{}': 'mature' is not a Boolean.", entryName);
                 return false;
             }
+            if (config.contains("discordChannelId") && !(config.get("discordChannelId") instanceof String)) {
+                Verbatim.LOGGER.warn("[VerbatimConfigValidator] Channel '{}': 'discordChannelId' is not a String.", entryName);
+                return false;
+            }
             return true;
         };
 
@@ -166,6 +182,16 @@ public class VerbatimConfig {
             "Channel definitions - see documentation for all available properties"
         ).defineList("channels", defaultChannelsSupplier, channelEntryValidator);
 
+        LOCAL_OBSCURE_TIERS = BUILDER.comment(
+            "Number of obscurity steps between a local message's range and the point where it fades out completely.",
+            "Every listener in the same step sees the same obscured text, which is built at most once per message."
+        ).defineInRange("localObscureTiers", 8, 1, 64);
+
+        RELOAD_WORK_PER_TICK = BUILDER.comment(
+            "Maximum number of player/channel updates applied per server tick after the channel config is reloaded.",
+            "Only channels that were added, removed, or had their permission or alwaysOn setting changed are re-evaluated."
+        ).defineInRange("reloadWorkPerTick", 64, 1, 10000);
+
         BUILDER.pop();
 
         BUILDER.push("Discord Integration");
@@ -184,7 +210,9 @@ public class VerbatimConfig {
 
         DISCORD_CHANNEL_ID = BUILDER.comment(
                 "The ID of the Discord Channel the bot should monitor and send messages to.",
-                "The bot will NOT run if this is empty."
+                "Join/leave notices go here, and it is mirrored with the \"global\" channel unless that channel sets its own discordChannelId.",
+                "May be left empty if channels set their own discordChannelId; join/leave notices are then not relayed.",
+                "The bot will NOT run if neither this nor any channel's discordChannelId is set."
         ).define("discordChannelId", "");
 
         DISCORD_MESSAGE_PREFIX = BUILDER.comment(
@@ -202,6 +230,44 @@ public class VerbatimConfig {
                 "Embeds will include the player's avatar and a color derived from their UUID."
         ).define("discordUseEmbedMode", false);
 
+        DISCORD_USE_WEBHOOK_MODE = BUILDER.comment(
+                "Enable to relay Minecraft chat through a webhook, posting under each player's name and avatar.",
+                "The bot creates a \"Verbatim Relay\" webhook in each mirrored channel and needs the Manage Webhooks permission.",
+                "Takes precedence over embed mode for chat; join/leave notices still use the bot.",
+                "A relay window where the speaker changes more than a few times is sent as bot messages instead."
+        ).define("discordUseWebhookMode", false);
+
+        DISCORD_CONNECTION_BATCH_SECONDS = BUILDER.comment(
+                "Join/leave notices are collected for this many seconds and relayed to Discord as one message,",
+                "so a burst of reconnects after a restart does not post one message per player. 0 relays each notice immediately."
+        ).defineInRange("discordConnectionBatchSeconds", 3, 0, 60);
+
+        DISCORD_RELAY_WINDOW_MILLIS = BUILDER.comment(
+                "In-game chat sent within this many milliseconds is relayed to Discord together, as one message",
+                "(or up to 10 embeds per request in embed mode). The next batch also waits until Discord has accepted",
+                "the previous one, so chat collects in the relay buffer while Discord is slow. 0 relays every message",
+                "as soon as the previous request completes."
+        ).defineInRange("discordRelayWindowMillis", 1000, 0, 10000);
+
+        DISCORD_RELAY_BUFFER_SIZE = BUILDER.comment(
+                "Maximum number of in-game chat messages waiting to be relayed to Discord."
+        ).defineInRange("discordRelayBufferSize", 500, 10, 100000);
+
+        DISCORD_RELAY_OVERFLOW_POLICY = BUILDER.comment(
+                "What to drop when the relay buffer is full: DROP_OLDEST keeps the most recent chat,",
+                "DROP_NEWEST keeps what is already waiting."
+        ).defineEnum("discordRelayOverflowPolicy", ChatRelayBuffer.OverflowPolicy.DROP_OLDEST);
+
+        DISCORD_INBOUND_MESSAGES_PER_TICK = BUILDER.comment(
+                "Maximum number of Discord messages shown in-game per server tick.",
+                "Messages beyond this are replaced by a single \"+N more messages\" line."
+        ).defineInRange("discordInboundMessagesPerTick", 5, 1, 100);
+
+        DISCORD_PRESENCE_MIN_INTERVAL_SECONDS = BUILDER.comment(
+                "Minimum number of seconds between bot presence (player count) updates.",
+                "Joins and leaves within this interval are folded into one update, and unchanged counts are never sent."
+        ).defineInRange("discordPresenceMinIntervalSeconds", 15, 1, 600);
+
         BUILDER.pop();
         SPEC = BUILDER.build();
     }
@@ -0,0 +1,51 @@
+package world.landfall.verbatim.chat;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.chat.Style;
+import world.landfall.verbatim.ChatFormattingUtils;
+
+/**
+ * Precompiled, immutable formatting pieces for a channel, built once when the channel config is loaded.
+ * Messages only splice the player name and message body into these shared components, so nothing that
+ * is constant per channel gets re-parsed per message. The shared components must never be modified.
+ */
+public class ChannelTemplate {
+    public static final Component SPACE = Component.literal(" ");
+
+    public final Component prefix; // Parsed displayPrefix
+    public final Component separator; // Parsed separatorColor + separator
+    public final Style messageStyle; // Style resolved from messageColor, the starting style of message bodies
+
+    public ChannelTemplate(String displayPrefix, String separatorColor, String separator, String messageColor) {
+        this.prefix = ChatFormattingUtils.parseColors(displayPrefix);
+        this.separator = ChatFormattingUtils.parseColors(separatorColor + separator);
+        this.messageStyle = ChatFormattingUtils.parseStyle(messageColor);
+    }
+
+    /**
+     * Starts a message line with the channel prefix and player name: "[Prefix] Name".
+     */
+    public MutableComponent header(Component playerName) {
+        return Component.empty()
+            .append(prefix)
+            .append(SPACE)
+            .append(playerName);
+    }
+
+    /**
+     * Parses a message body in the channel's message colour. Player-supplied codes still apply.
+     */
+    public Component body(String messageContent) {
+        return ChatFormattingUtils.parseColors(messageContent, messageStyle);
+    }
+
+    /**
+     * Builds a standard channel line: "[Prefix] Name[separator]message".
+     */
+    public MutableComponent format(Component playerName, String messageContent) {
+        return header(playerName)
+            .append(separator)
+            .append(body(messageContent));
+    }
+}
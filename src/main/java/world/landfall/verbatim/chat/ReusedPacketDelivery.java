@@ -0,0 +1,57 @@
+package world.landfall.verbatim.chat;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.PacketSendListener;
+import net.minecraft.world.entity.player.ChatVisiblity;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the recipients of a single chat message by the exact component instance they receive, then
+ * builds one system chat packet object per variant and reuses it for every recipient of that variant.
+ * This saves building a packet (and its component) per recipient. It does not share serialization: each
+ * connection still encodes, compresses and encrypts the packet itself, as vanilla does.
+ * Variants are keyed by identity, so callers must hand the same instance to every recipient that
+ * should get the same packet (the clear message, each obscured tier, the sender echo).
+ */
+public class ReusedPacketDelivery {
+    private final Map<Component, List<ServerPlayer>> recipientsByVariant = new IdentityHashMap<>();
+
+    public void add(ServerPlayer recipient, Component message) {
+        recipientsByVariant.computeIfAbsent(message, k -> new ArrayList<>()).add(recipient);
+    }
+
+    public boolean isEmpty() {
+        return recipientsByVariant.isEmpty();
+    }
+
+    /**
+     * Sends every collected variant. Mirrors ServerPlayer#sendSystemMessage by skipping players
+     * who have chat hidden entirely, and by telling a player when their message could not be encoded.
+     */
+    public void send() {
+        for (Map.Entry<Component, List<ServerPlayer>> entry : recipientsByVariant.entrySet()) {
+            Component message = entry.getKey();
+            ClientboundSystemChatPacket packet = new ClientboundSystemChatPacket(message, false);
+            PacketSendListener notDelivered = PacketSendListener.exceptionallySend(() -> notDeliveredPacket(message));
+            for (ServerPlayer recipient : entry.getValue()) {
+                if (recipient.getChatVisibility() != ChatVisiblity.HIDDEN) {
+                    recipient.connection.send(packet, notDelivered);
+                }
+            }
+        }
+        recipientsByVariant.clear();
+    }
+
+    // Same fallback vanilla sends when a system message fails to go out
+    private static ClientboundSystemChatPacket notDeliveredPacket(Component message) {
+        Component truncated = Component.literal(message.getString(256)).withStyle(ChatFormatting.YELLOW);
+        return new ClientboundSystemChatPacket(Component.translatable("multiplayer.message_not_delivered", truncated).withStyle(ChatFormatting.RED), false);
+    }
+}
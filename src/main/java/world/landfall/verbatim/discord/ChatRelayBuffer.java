@@ -0,0 +1,249 @@
+package world.landfall.verbatim.discord;
+
+import world.landfall.verbatim.Verbatim;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded buffer between in-game chat and Discord. Messages submitted within one window are handed to the
+ * sink together, so a busy chat turns into a few Discord requests instead of one per message.
+ * Only one batch is in flight at a time: the next one is held until the future returned by the sink for the
+ * previous one completes. While Discord is slow (or rate limited), chat therefore collects here, where the
+ * configured {@link OverflowPolicy} decides which message is dropped, rather than piling up in JDA's queue.
+ * Thread-safe; the sink runs on the scheduler thread, the thread completing the previous batch, or the
+ * submitting thread when the window is 0.
+ */
+public class ChatRelayBuffer {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, // Keep the most recent chat; the oldest buffered message is discarded
+        DROP_NEWEST  // Keep what is already buffered; the incoming message is discarded
+    }
+
+    /**
+     * A chat message captured on the server thread, ready to be relayed without touching game state.
+     */
+    public static class Entry {
+        public final String discordChannelId; // Destination channel
+        public final UUID playerId;
+        public final String username;
+        public final String displayName; // Formatting codes stripped
+        public final String content; // Formatting codes stripped
+        final long createdNanos; // For relay latency
+
+        public Entry(String discordChannelId, UUID playerId, String username, String displayName, String content) {
+            this.discordChannelId = discordChannelId;
+            this.playerId = playerId;
+            this.username = username;
+            this.displayName = displayName;
+            this.content = content;
+            this.createdNanos = System.nanoTime();
+        }
+    }
+
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long windowMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Function<List<Entry>, ? extends CompletableFuture<?>> sink;
+
+    private final ArrayDeque<Entry> buffer = new ArrayDeque<>();
+    private boolean flushScheduled; // Guarded by buffer
+    private boolean inFlight; // A batch was handed to the sink and has not completed; guarded by buffer
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong batchedCount = new AtomicLong(); // Messages that shared a batch with at least one other
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong(); // Time from capture to hand-off, summed over relayed messages
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private long droppedAtLastFlush;
+
+    /**
+     * @param sink Sends a batch and returns a future that completes once it has been sent (or failed);
+     *             null if nothing was sent
+     */
+    public ChatRelayBuffer(int capacity, OverflowPolicy overflowPolicy, long windowMillis,
+                           ScheduledExecutorService scheduler, Function<List<Entry>, ? extends CompletableFuture<?>> sink) {
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.windowMillis = windowMillis;
+        this.scheduler = scheduler;
+        this.sink = sink;
+    }
+
+    public void submit(Entry entry) {
+        submittedCount.incrementAndGet();
+        boolean flushNow = false;
+        synchronized (buffer) {
+            if (buffer.size() >= capacity) {
+                droppedCount.incrementAndGet();
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    return;
+                }
+                buffer.poll();
+            }
+            buffer.add(entry);
+            if (inFlight) {
+                return; // Picked up when the batch in flight completes
+            }
+            flushNow = scheduleFlush(windowMillis);
+        }
+        if (flushNow) {
+            flushWhenIdle();
+        }
+    }
+
+    // Returns true if the caller should flush right away instead. Caller holds the buffer lock.
+    private boolean scheduleFlush(long delayMillis) {
+        if (flushScheduled) {
+            return false;
+        }
+        if (delayMillis <= 0) {
+            return true;
+        }
+        flushScheduled = true;
+        try {
+            scheduler.schedule(this::flushWhenIdle, delayMillis, TimeUnit.MILLISECONDS);
+            return false;
+        } catch (RejectedExecutionException e) {
+            flushScheduled = false;
+            return true; // Scheduler is shutting down; relay what we have
+        }
+    }
+
+    // Window elapsed: send unless a batch is still in flight, in which case its completion sends this one
+    private void flushWhenIdle() {
+        List<Entry> batch;
+        synchronized (buffer) {
+            flushScheduled = false;
+            if (inFlight) {
+                return;
+            }
+            batch = takeBatch();
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * Hands everything buffered so far to the sink as one batch, even if a batch is still in flight.
+     * Used at shutdown so nothing is left waiting for the window.
+     */
+    public void flush() {
+        List<Entry> batch;
+        synchronized (buffer) {
+            flushScheduled = false;
+            batch = takeBatch();
+        }
+        dispatch(batch);
+    }
+
+    // Caller holds the buffer lock. Returns null if there is nothing to send.
+    private List<Entry> takeBatch() {
+        if (buffer.isEmpty()) {
+            return null;
+        }
+        List<Entry> batch = new ArrayList<>(buffer);
+        buffer.clear();
+        inFlight = true;
+        return batch;
+    }
+
+    // Sends batches until one is still pending; its completion continues from there. Looping rather than
+    // recursing keeps the stack flat when the sink completes synchronously.
+    private void dispatch(List<Entry> batch) {
+        while (batch != null) {
+            int size = batch.size();
+            CompletableFuture<?> sent = send(batch);
+            if (sent != null && !sent.isDone()) {
+                sent.whenComplete((result, error) -> dispatch(completeBatch(size, error)));
+                return;
+            }
+            batch = completeBatch(size, sent == null ? null : sent.handle((result, error) -> error).join());
+        }
+    }
+
+    private CompletableFuture<?> send(List<Entry> batch) {
+        long droppedSinceLastFlush;
+        synchronized (buffer) {
+            long dropped = droppedCount.get();
+            droppedSinceLastFlush = dropped - droppedAtLastFlush;
+            droppedAtLastFlush = dropped;
+        }
+        if (droppedSinceLastFlush > 0) {
+            Verbatim.LOGGER.warn("[Verbatim Discord] Relay buffer full, dropped {} messages ({}).", droppedSinceLastFlush, overflowPolicy);
+        }
+        batchCount.incrementAndGet();
+        if (batch.size() > 1) {
+            batchedCount.addAndGet(batch.size());
+        }
+        // The oldest entry waited longest; the batch is in submission order
+        long now = System.nanoTime();
+        long batchLatency = 0;
+        for (Entry entry : batch) {
+            batchLatency += now - entry.createdNanos;
+        }
+        totalLatencyNanos.addAndGet(batchLatency);
+        maxLatencyNanos.accumulateAndGet(now - batch.get(0).createdNanos, Math::max);
+        try {
+            return sink.apply(batch);
+        } catch (Exception e) {
+            Verbatim.LOGGER.error("[Verbatim Discord] Could not relay {} chat messages to Discord.", batch.size(), e);
+            return null;
+        }
+    }
+
+    // Opens the gate. Returns what collected meanwhile if its oldest message has already waited a full
+    // window, otherwise schedules it and returns null.
+    private List<Entry> completeBatch(int size, Throwable error) {
+        if (error != null) {
+            Verbatim.LOGGER.error("[Verbatim Discord] Could not relay {} chat messages to Discord.", size, error);
+        }
+        synchronized (buffer) {
+            inFlight = false;
+            Entry oldest = buffer.peek();
+            if (oldest == null) {
+                return null;
+            }
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.createdNanos);
+            return scheduleFlush(windowMillis - waitedMillis) ? takeBatch() : null;
+        }
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getBatchedCount() {
+        return batchedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Total time relayed messages spent between capture and reaching the sink.
+     * Divide by (submitted - dropped) for the mean.
+     */
+    public long getTotalLatencyNanos() {
+        return totalLatencyNanos.get();
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+}
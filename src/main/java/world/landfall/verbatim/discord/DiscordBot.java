@@ -3,24 +3,35 @@ package world.landfall.verbatim.discord;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.EmbedBuilder;
-import net.dv8tion.jda.api.entities.Activity;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.utils.MemberCachePolicy;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.neoforge.server.ServerLifecycleHooks;
+import world.landfall.verbatim.ChatChannelManager;
 import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.VerbatimConfig;
 import world.landfall.verbatim.ChatFormattingUtils;
 
 import java.awt.Color;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class DiscordBot {
 
@@ -30,15 +41,60 @@ public class DiscordBot {
         SPECIAL_UUID_COLORS.put(UUID.fromString("7755ac32-2fba-4ef6-a85b-93c354267a91"), new Color(155, 89, 182)); // cant blame a gal for liking purple ;)
     }
 
-    private static JDA jdaInstance;
-    private static String discordChannelId;
-    private static boolean enabled;
-    private static boolean useEmbedMode;
+    private static volatile JDA jdaInstance; // Set as soon as JDA is built; only used for startup and shutdown
+    private static volatile DiscordTransport transport; // Set once ready; every send goes through it
+    // Set by init on the server thread and read from the relay, scheduler and startup threads
+    private static volatile String discordChannelId;
+    private static volatile boolean enabled;
+    private static volatile boolean useEmbedMode;
+    private static volatile boolean useWebhookMode;
     private static ScheduledExecutorService presenceScheduler;
+    // Debounced presence state (see updatePlayerCountStatus)
+    private static final long PRESENCE_SETTLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final AtomicBoolean presenceUpdateScheduled = new AtomicBoolean(false);
+    private static volatile String lastPresenceStatus;
+    private static volatile long lastPresenceUpdateNanos = System.nanoTime() - TimeUnit.HOURS.toNanos(1);
+    private static volatile ChatRelayBuffer chatRelay; // Coalesces in-game chat before it is sent
+    // Completed once the bot is ready (or gives up); chat batches wait on it instead of the startup queue,
+    // so the relay holds further chat in its own bounded buffer until the connection completes
+    private static volatile CompletableFuture<Void> chatRelayReady = CompletableFuture.completedFuture(null);
+    private static final String CHANNEL_ID_PLACEHOLDER = "YOUR_DISCORD_CHANNEL_ID_HERE";
+    private static final int MAX_EMBEDS_PER_MESSAGE = 10; // Discord's limit per request
+    // Above this many speaker changes in one window, a webhook batch goes out as bot messages instead
+    private static final int MAX_WEBHOOK_RUNS_PER_BATCH = 3;
+
+    // Background startup state (see init/connect)
+    private static volatile boolean connecting;
+    private static volatile boolean ready;
+    private static Thread startupThread;
+    // Sends produced before the gateway is ready, relayed in order once it is
+    private static final int PRE_READY_QUEUE_CAPACITY = 100;
+    private static final ArrayDeque<Runnable> preReadyQueue = new ArrayDeque<>();
+    private static int droppedBeforeReady; // Guarded by preReadyQueue
+
+    // Join/leave notices waiting for the next batched relay (see sendPlayerConnectionStatusToDiscord)
+    private static final int MAX_NAMES_PER_CONNECTION_NOTICE = 50;
+    private static final Queue<ConnectionNotice> pendingConnectionNotices = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean connectionFlushScheduled = new AtomicBoolean(false);
+
+    private static class ConnectionNotice {
+        final String username;
+        final String effectiveName; // "Display (username)" when the display name differs
+        final String avatarUrl;
+        final boolean joined;
+
+        ConnectionNotice(String username, String effectiveName, String avatarUrl, boolean joined) {
+            this.username = username;
+            this.effectiveName = effectiveName;
+            this.avatarUrl = avatarUrl;
+            this.joined = joined;
+        }
+    }
 
     public static void init() {
         enabled = VerbatimConfig.DISCORD_BOT_ENABLED.get();
         useEmbedMode = VerbatimConfig.DISCORD_USE_EMBED_MODE.get();
+        useWebhookMode = VerbatimConfig.DISCORD_USE_WEBHOOK_MODE.get();
         if (!enabled) {
             Verbatim.LOGGER.info("[Verbatim Discord] Bot is disabled in config.");
             return;
@@ -51,41 +107,178 @@ public class DiscordBot {
             Verbatim.LOGGER.error("[Verbatim Discord] Bot token is not configured. Discord bot will not start.");
             return;
         }
-        if (discordChannelId == null || discordChannelId.isEmpty() || discordChannelId.equals("YOUR_DISCORD_CHANNEL_ID_HERE")) {
-            Verbatim.LOGGER.error("[Verbatim Discord] Discord channel ID is not configured. Discord bot will not start.");
-            return;
+        if (!isConfiguredChannelId(discordChannelId)) {
+            discordChannelId = null; // Join/leave notices and generic messages are skipped without a main channel
+            if (ChatChannelManager.getAllChannelConfigs().stream().noneMatch(c -> c.discordChannelId.isPresent())) {
+                Verbatim.LOGGER.error("[Verbatim Discord] Discord channel ID is not configured. Discord bot will not start.");
+                return;
+            }
+        }
+
+        startRelays();
+
+        // Log in and wait for the gateway off the server thread, so a slow or failing login never delays world load
+        startupThread = new Thread(() -> connect(botToken), "Verbatim Discord Startup");
+        startupThread.setDaemon(true);
+        startupThread.start();
+        Verbatim.LOGGER.info("[Verbatim Discord] Connecting to Discord in the background...");
+    }
+
+    // Started before the bot connects so join notices and chat can be batched while the handshake is in progress
+    private static void startRelays() {
+        presenceScheduler = Executors.newSingleThreadScheduledExecutor();
+        // Periodic safety net; only reaches Discord if the count drifted without a join/leave request
+        presenceScheduler.scheduleAtFixedRate(DiscordBot::updatePlayerCountStatus, 1, 1, TimeUnit.MINUTES);
+        Verbatim.LOGGER.info("[Verbatim Discord] Presence update scheduler started.");
+
+        chatRelayReady = new CompletableFuture<>();
+        chatRelay = new ChatRelayBuffer(
+                VerbatimConfig.DISCORD_RELAY_BUFFER_SIZE.get(),
+                VerbatimConfig.DISCORD_RELAY_OVERFLOW_POLICY.get(),
+                VerbatimConfig.DISCORD_RELAY_WINDOW_MILLIS.get(),
+                presenceScheduler,
+                batch -> chatRelayReady.thenCompose(ignored -> relayChatBatch(batch)));
+        connecting = true;
+    }
+
+    /**
+     * Starts the bot without logging in to Discord, for exercising the bridge offline (see DiscordBotOfflineTest).
+     * Everything sent before {@link #attachTransport(DiscordTransport)} is queued exactly as it is while the
+     * real gateway connects. discordChannelId is used for join/leave notices if it is set.
+     */
+    static void startOffline() {
+        useEmbedMode = VerbatimConfig.DISCORD_USE_EMBED_MODE.get();
+        useWebhookMode = VerbatimConfig.DISCORD_USE_WEBHOOK_MODE.get();
+        String configuredChannelId = VerbatimConfig.DISCORD_CHANNEL_ID.get();
+        discordChannelId = isConfiguredChannelId(configuredChannelId) ? configuredChannelId : null;
+        enabled = true;
+        startRelays();
+        Verbatim.LOGGER.info("[Verbatim Discord] Started without a Discord connection.");
+    }
+
+    /**
+     * Completes an offline start: relays the startup queue through the given transport and marks the bot ready.
+     * Calling {@link #shutdown()} and {@link #startOffline()} again simulates a reconnect.
+     */
+    static void attachTransport(DiscordTransport offlineTransport) {
+        if (!connecting) {
+            return; // Not started, or already shut down
         }
+        onReady(offlineTransport);
+        connecting = false;
+        publishPlayerCountStatus();
+    }
 
+    private static void connect(String botToken) {
         try {
-            jdaInstance = JDABuilder.createDefault(botToken)
+            JDA jda = JDABuilder.createDefault(botToken)
                     .enableIntents(GatewayIntent.GUILD_MESSAGES, GatewayIntent.MESSAGE_CONTENT)
                     .setMemberCachePolicy(MemberCachePolicy.NONE)
                     .addEventListeners(new DiscordListener())
                     .build();
-            jdaInstance.awaitReady();
+            jdaInstance = jda;
+            if (!connecting) {
+                abandonStartup(); // Server stopped while logging in
+                return;
+            }
+            jda.awaitReady();
             Verbatim.LOGGER.info("[Verbatim Discord] Bot connected and ready!");
 
             // Register Discord slash commands
-            jdaInstance.upsertCommand("list", "Lists online players on the Minecraft server.").queue();
+            jda.upsertCommand("list", "Lists online players on the Minecraft server.").queue();
             Verbatim.LOGGER.info("[Verbatim Discord] /list slash command registered/updated.");
 
-            // Initialize and start presence scheduler
-            updatePlayerCountStatus(); // Set initial status
-            presenceScheduler = Executors.newSingleThreadScheduledExecutor();
-            presenceScheduler.scheduleAtFixedRate(DiscordBot::updatePlayerCountStatus, 1, 1, TimeUnit.MINUTES);
-            Verbatim.LOGGER.info("[Verbatim Discord] Presence update scheduler started.");
-
+            onReady(new JdaTransport(jda));
+            publishPlayerCountStatus(); // Set initial status
         } catch (InterruptedException e) {
-            Verbatim.LOGGER.error("[Verbatim Discord] JDA initialization was interrupted.", e);
+            Verbatim.LOGGER.warn("[Verbatim Discord] JDA initialization was interrupted.");
             Thread.currentThread().interrupt();
-            jdaInstance = null;
+            abandonStartup();
         } catch (Exception e) {
             Verbatim.LOGGER.error("[Verbatim Discord] Failed to initialize JDA or log in.", e);
-            jdaInstance = null;
+            abandonStartup();
+        } finally {
+            connecting = false;
+        }
+    }
+
+    // Relays everything produced while connecting, then marks the bot ready. The flag is only set once the
+    // queue is empty, so sends made during the drain still queue behind the older ones and order is kept.
+    private static void onReady(DiscordTransport readyTransport) {
+        transport = readyTransport; // A fresh transport per session, so no stale channel handles or webhooks
+        int relayed = 0;
+        int dropped;
+        while (true) {
+            List<Runnable> batch;
+            synchronized (preReadyQueue) {
+                if (preReadyQueue.isEmpty()) {
+                    ready = true;
+                    dropped = droppedBeforeReady;
+                    droppedBeforeReady = 0;
+                    break;
+                }
+                batch = new ArrayList<>(preReadyQueue);
+                preReadyQueue.clear();
+            }
+            for (Runnable action : batch) {
+                action.run();
+            }
+            relayed += batch.size();
+        }
+        if (relayed > 0 || dropped > 0) {
+            Verbatim.LOGGER.info("[Verbatim Discord] Relayed {} messages queued during startup ({} dropped).", relayed, dropped);
         }
+        chatRelayReady.complete(null); // Releases the chat batch held during startup
+    }
+
+    private static void abandonStartup() {
+        JDA jda = jdaInstance;
+        jdaInstance = null;
+        if (jda != null) {
+            jda.shutdownNow();
+        }
+        synchronized (preReadyQueue) {
+            if (!preReadyQueue.isEmpty()) {
+                Verbatim.LOGGER.warn("[Verbatim Discord] Discarding {} messages queued during startup.", preReadyQueue.size());
+            }
+            preReadyQueue.clear();
+            droppedBeforeReady = 0;
+        }
+        chatRelayReady.complete(null); // Nothing to send to; the held batch finds no transport and is dropped
+    }
+
+    /**
+     * Runs a Discord send now, on the calling thread, if the bot is ready, otherwise holds it in a bounded
+     * queue until the connection completes. When the queue is full the oldest entry is dropped.
+     * Actions must not touch game state; capture anything they need on the calling thread.
+     */
+    private static void runWhenReady(Runnable action) {
+        if (!ready) {
+            synchronized (preReadyQueue) {
+                // Re-check under the lock; onReady flips the flag and drains under the same lock
+                if (!ready) {
+                    if (!connecting) {
+                        return; // Startup failed or the bot was shut down
+                    }
+                    if (preReadyQueue.size() >= PRE_READY_QUEUE_CAPACITY) {
+                        preReadyQueue.poll();
+                        droppedBeforeReady++;
+                    }
+                    preReadyQueue.add(action);
+                    return;
+                }
+            }
+        }
+        action.run();
     }
 
     public static void shutdown() {
+        connecting = false;
+        Thread startup = startupThread;
+        if (startup != null && startup.isAlive()) {
+            startup.interrupt(); // Abandons a handshake that is still in progress
+        }
+        startupThread = null;
         if (presenceScheduler != null && !presenceScheduler.isShutdown()) {
             presenceScheduler.shutdown();
             try {
@@ -98,39 +291,62 @@ public class DiscordBot {
             }
             Verbatim.LOGGER.info("[Verbatim Discord] Presence update scheduler shut down.");
         }
-        if (jdaInstance != null) {
+        ChatRelayBuffer relay = chatRelay;
+        if (relay != null) {
+            relay.flush(); // Relay chat still waiting for its window
+            Verbatim.LOGGER.info("[Verbatim Discord] Chat relay: {} messages submitted, {} sent in {} batches, {} batched with others, {} dropped, {} ms max wait.",
+                    relay.getSubmittedCount(), relay.getSubmittedCount() - relay.getDroppedCount(), relay.getBatchCount(),
+                    relay.getBatchedCount(), relay.getDroppedCount(), TimeUnit.NANOSECONDS.toMillis(relay.getMaxLatencyNanos()));
+            chatRelay = null;
+        }
+        flushConnectionNotices(); // Relay anything still waiting for its batch window
+        JDA jda = jdaInstance;
+        if (jda != null) {
             Verbatim.LOGGER.info("[Verbatim Discord] Shutting down Discord bot...");
-            jdaInstance.shutdown();
+            jda.shutdown();
             try {
-                if (!jdaInstance.awaitShutdown(10, java.util.concurrent.TimeUnit.SECONDS)) {
+                if (!jda.awaitShutdown(10, java.util.concurrent.TimeUnit.SECONDS)) {
                     Verbatim.LOGGER.warn("[Verbatim Discord] Bot did not shut down in 10 seconds, forcing shutdown.");
-                    jdaInstance.shutdownNow();
+                    jda.shutdownNow();
                 }
             } catch (InterruptedException e) {
                 Verbatim.LOGGER.error("[Verbatim Discord] Interrupted while awaiting bot shutdown.", e);
-                jdaInstance.shutdownNow();
+                jda.shutdownNow();
                 Thread.currentThread().interrupt();
             }
             Verbatim.LOGGER.info("[Verbatim Discord] Bot has been shut down.");
             jdaInstance = null;
         }
+        transport = null;
+        chatRelayReady.complete(null); // A batch still waiting for startup finds no transport and is dropped
+        presenceUpdateScheduled.set(false);
+        lastPresenceStatus = null;
+        synchronized (preReadyQueue) {
+            ready = false;
+            preReadyQueue.clear();
+            droppedBeforeReady = 0;
+        }
     }
 
     public static void sendToDiscord(String message) {
-        if (jdaInstance == null || discordChannelId == null || !enabled) {
+        if (!isEnabled() || discordChannelId == null) {
             return;
         }
-        try {
-            TextChannel channel = jdaInstance.getTextChannelById(discordChannelId);
-            if (channel != null) {
-                channel.sendMessage(message).queue();
-                Verbatim.LOGGER.debug("[Verbatim Discord Generic] Relayed: {}", message);
-            } else {
-                Verbatim.LOGGER.warn("[Verbatim Discord] Configured Discord channel ID '{}' not found for generic message.", discordChannelId);
+        runWhenReady(() -> {
+            try {
+                DiscordTransport t = transport;
+                if (t == null) {
+                    return; // Shut down while queued
+                }
+                if (t.sendMessage(discordChannelId, message) != null) {
+                    Verbatim.LOGGER.debug("[Verbatim Discord Generic] Relayed: {}", message);
+                } else {
+                    Verbatim.LOGGER.warn("[Verbatim Discord] Configured Discord channel ID '{}' not found for generic message.", discordChannelId);
+                }
+            } catch (Exception e) {
+                Verbatim.LOGGER.error("[Verbatim Discord] Could not send generic message to Discord.", e);
             }
-        } catch (Exception e) {
-            Verbatim.LOGGER.error("[Verbatim Discord] Could not send generic message to Discord.", e);
-        }
+        });
     }
 
     private static Color generateColorFromUUID(UUID uuid) {
@@ -145,89 +361,334 @@ public class DiscordBot {
         return Color.getHSBColor(hue, 0.7f, 0.85f);
     }
 
-    public static void sendPlayerChatMessageToDiscord(ServerPlayer player, String messageContent) {
-        if (!isEnabled()) {
+    /**
+     * Relays a chat message to the Discord channel mirrored by the given Verbatim channel, if it has one.
+     */
+    public static void sendPlayerChatMessageToDiscord(ServerPlayer player, ChatChannelManager.ChannelConfig channel, String messageContent) {
+        ChatRelayBuffer relay = chatRelay;
+        if (!isEnabled() || relay == null || channel.discordChannelId.isEmpty()) {
             return;
         }
 
+        // Read everything from the player here; the relay runs later on the scheduler thread
+        String username = player.getName().getString();
+        String strippedDisplayName = ChatFormattingUtils.stripFormattingCodes(player.getDisplayName().getString());
+        String cleanMessageContent = ChatFormattingUtils.stripFormattingCodes(messageContent);
+        relay.submit(new ChatRelayBuffer.Entry(channel.discordChannelId.get(), player.getUUID(), username, strippedDisplayName, cleanMessageContent));
+    }
+
+    /**
+     * Sends one relay window's worth of chat, grouped by destination channel. Plain mode joins the lines
+     * into as few messages as the 2000 character limit allows; embed mode sends up to 10 embeds per request.
+     * The returned future completes once every request has completed, failing if any of them failed.
+     */
+    private static CompletableFuture<Void> relayChatBatch(List<ChatRelayBuffer.Entry> batch) {
+        Map<String, List<ChatRelayBuffer.Entry>> byChannel = new LinkedHashMap<>();
+        for (ChatRelayBuffer.Entry entry : batch) {
+            byChannel.computeIfAbsent(entry.discordChannelId, k -> new ArrayList<>()).add(entry);
+        }
+        List<CompletableFuture<?>> sends = new ArrayList<>(byChannel.size());
+        for (Map.Entry<String, List<ChatRelayBuffer.Entry>> channelBatch : byChannel.entrySet()) {
+            sends.add(relayChatBatch(channelBatch.getKey(), channelBatch.getValue()));
+        }
+        return allOf(sends);
+    }
+
+    private static CompletableFuture<Void> relayChatBatch(String targetChannelId, List<ChatRelayBuffer.Entry> batch) {
+        DiscordTransport t = transport;
+        if (t == null) {
+            return CompletableFuture.completedFuture(null); // Shut down while queued
+        }
+        List<CompletableFuture<?>> sends = new ArrayList<>();
         try {
-            TextChannel channel = jdaInstance.getTextChannelById(discordChannelId);
-            if (channel == null) {
-                Verbatim.LOGGER.warn("[Verbatim Discord] Configured Discord channel ID '{}' not found for player message.", discordChannelId);
-                return;
+            if (useWebhookMode && relayChatBatchViaWebhook(t, targetChannelId, batch, sends)) {
+                return allOf(sends);
             }
+            // Webhook not set up (yet); this batch goes out through the bot below
 
-            String username = player.getName().getString();
-            String strippedDisplayName = ChatFormattingUtils.stripFormattingCodes(player.getDisplayName().getString());
-            String cleanMessageContent = ChatFormattingUtils.stripFormattingCodes(messageContent);
-
+            CompletableFuture<?> last;
             if (useEmbedMode) {
-                String playerUUID = player.getUUID().toString().replace("-", "");
-                String avatarUrl = "https://minotar.net/avatar/" + playerUUID;
-                
-                String authorName = username;
-                if (!username.equals(strippedDisplayName)) {
-                    authorName = strippedDisplayName + " (" + username + ")";
+                List<MessageEmbed> embeds = new ArrayList<>(MAX_EMBEDS_PER_MESSAGE);
+                int embedsLength = 0;
+                for (ChatRelayBuffer.Entry entry : batch) {
+                    MessageEmbed embed = buildChatEmbed(entry);
+                    if (embeds.size() == MAX_EMBEDS_PER_MESSAGE || embedsLength + embed.getLength() > MessageEmbed.EMBED_MAX_LENGTH_BOT) {
+                        CompletableFuture<?> sent = t.sendEmbeds(targetChannelId, embeds);
+                        if (sent == null) {
+                            break; // Channel not found; reported below
+                        }
+                        sends.add(sent);
+                        embeds = new ArrayList<>(MAX_EMBEDS_PER_MESSAGE);
+                        embedsLength = 0;
+                    }
+                    embeds.add(embed);
+                    embedsLength += embed.getLength();
                 }
-
-                EmbedBuilder embed = new EmbedBuilder();
-                embed.setAuthor(authorName, null, avatarUrl);
-                embed.setDescription(cleanMessageContent);
-                embed.setColor(generateColorFromUUID(player.getUUID()));
-
-                channel.sendMessageEmbeds(embed.build()).queue();
-                Verbatim.LOGGER.debug("[Game -> Discord Embed] Relayed for {}: {}", authorName, cleanMessageContent);
+                last = t.sendEmbeds(targetChannelId, embeds);
             } else {
-                String plainTextMessage = username + ": " + cleanMessageContent;
-                channel.sendMessage(plainTextMessage).queue();
-                Verbatim.LOGGER.debug("[Game -> Discord Plain] Relayed for {}: {}", username, cleanMessageContent);
+                StringBuilder plainTextMessage = new StringBuilder();
+                for (ChatRelayBuffer.Entry entry : batch) {
+                    String line = entry.username + ": " + entry.content;
+                    if (plainTextMessage.length() > 0 && plainTextMessage.length() + 1 + line.length() > Message.MAX_CONTENT_LENGTH) {
+                        CompletableFuture<?> sent = t.sendMessage(targetChannelId, plainTextMessage.toString());
+                        if (sent == null) {
+                            break; // Channel not found; reported below
+                        }
+                        sends.add(sent);
+                        plainTextMessage.setLength(0);
+                    }
+                    if (plainTextMessage.length() > 0) {
+                        plainTextMessage.append('\n');
+                    }
+                    plainTextMessage.append(line);
+                }
+                last = t.sendMessage(targetChannelId, plainTextMessage.toString());
+            }
+            if (last == null) {
+                Verbatim.LOGGER.warn("[Verbatim Discord] Discord channel ID '{}' not found for player message.", targetChannelId);
+                return allOf(sends);
             }
+            sends.add(last);
+            Verbatim.LOGGER.debug("[Game -> Discord] Relayed {} chat messages to {}.", batch.size(), targetChannelId);
         } catch (Exception e) {
-            Verbatim.LOGGER.error("[Verbatim Discord] Could not send player chat message to Discord for {}.", player.getName().getString(), e);
+            Verbatim.LOGGER.error("[Verbatim Discord] Could not send {} player chat messages to Discord.", batch.size(), e);
         }
+        return allOf(sends);
     }
 
+    private static CompletableFuture<Void> allOf(List<CompletableFuture<?>> sends) {
+        return CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Posts a batch through the channel's relay webhook, under each player's name and avatar, adding each
+     * request to sends. Consecutive messages from the same player share one webhook execution.
+     * Returns false, having sent nothing, if the channel has no webhook yet or the batch changes speaker
+     * more than MAX_WEBHOOK_RUNS_PER_BATCH times; the caller then sends it as bot messages.
+     */
+    private static boolean relayChatBatchViaWebhook(DiscordTransport t, String targetChannelId, List<ChatRelayBuffer.Entry> batch,
+                                                    List<CompletableFuture<?>> sends) {
+        if (countSpeakerRuns(batch) > MAX_WEBHOOK_RUNS_PER_BATCH) {
+            // A lively conversation would cost one webhook execution per speaker change
+            Verbatim.LOGGER.debug("[Game -> Discord Webhook] Batch of {} messages switches speaker too often; sending as bot messages.", batch.size());
+            return false;
+        }
+        boolean first = true;
+        int runStart = 0;
+        for (int i = 1; i <= batch.size(); i++) {
+            if (i == batch.size() || !batch.get(i).playerId.equals(batch.get(runStart).playerId)) {
+                ChatRelayBuffer.Entry runFirst = batch.get(runStart);
+                String username = webhookUsername(runFirst);
+                String avatarUrl = "https://minotar.net/avatar/" + runFirst.playerId.toString().replace("-", "");
+                List<String> parts = new ArrayList<>(1);
+                StringBuilder content = new StringBuilder();
+                for (ChatRelayBuffer.Entry entry : batch.subList(runStart, i)) {
+                    if (content.length() > 0 && content.length() + 1 + entry.content.length() > Message.MAX_CONTENT_LENGTH) {
+                        parts.add(content.toString());
+                        content.setLength(0);
+                    }
+                    if (content.length() > 0) {
+                        content.append('\n');
+                    }
+                    content.append(entry.content);
+                }
+                parts.add(content.toString());
+                for (String part : parts) {
+                    CompletableFuture<?> sent = t.sendAsPlayer(targetChannelId, username, avatarUrl, part);
+                    if (sent == null) {
+                        if (first) {
+                            return false;
+                        }
+                        Verbatim.LOGGER.warn("[Verbatim Discord] Relay webhook for channel '{}' became unavailable mid-batch; a message from {} was not sent.", targetChannelId, runFirst.username);
+                        continue;
+                    }
+                    first = false;
+                    sends.add(sent.whenComplete((result, error) -> {
+                        if (error != null) {
+                            Verbatim.LOGGER.warn("[Verbatim Discord] Relay webhook message from {} to channel '{}' failed: {}", runFirst.username, targetChannelId, error.getMessage());
+                        }
+                    }));
+                }
+                runStart = i;
+            }
+        }
+        Verbatim.LOGGER.debug("[Game -> Discord Webhook] Relayed {} chat messages.", batch.size());
+        return true;
+    }
+
+    // Number of webhook executions a batch needs at least: one per run of consecutive messages from one player
+    private static int countSpeakerRuns(List<ChatRelayBuffer.Entry> batch) {
+        int runs = batch.isEmpty() ? 0 : 1;
+        for (int i = 1; i < batch.size(); i++) {
+            if (!batch.get(i).playerId.equals(batch.get(i - 1).playerId)) {
+                runs++;
+            }
+        }
+        return runs;
+    }
+
+    // Discord rejects webhook names over 80 characters or containing "discord"/"clyde"
+    private static String webhookUsername(ChatRelayBuffer.Entry entry) {
+        String name = entry.username.equals(entry.displayName) ? entry.username : entry.displayName + " (" + entry.username + ")";
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.contains("discord") || lower.contains("clyde")) {
+            name = entry.username;
+        }
+        return name.length() > 80 ? name.substring(0, 80) : name;
+    }
+
+    private static MessageEmbed buildChatEmbed(ChatRelayBuffer.Entry entry) {
+        String playerUUID = entry.playerId.toString().replace("-", "");
+        String avatarUrl = "https://minotar.net/avatar/" + playerUUID;
+
+        String authorName = entry.username;
+        if (!entry.username.equals(entry.displayName)) {
+            authorName = entry.displayName + " (" + entry.username + ")";
+        }
+
+        EmbedBuilder embed = new EmbedBuilder();
+        embed.setAuthor(authorName, null, avatarUrl);
+        embed.setDescription(entry.content);
+        embed.setColor(generateColorFromUUID(entry.playerId));
+        return embed.build();
+    }
+
+    /**
+     * Queues a join/leave notice. Notices are collected for discordConnectionBatchSeconds and relayed
+     * together by flushConnectionNotices, so a burst of reconnects posts a handful of messages instead
+     * of one per player. Player names are captured here, on the calling thread.
+     */
     public static void sendPlayerConnectionStatusToDiscord(ServerPlayer player, boolean joined) {
         if (!isEnabled()) {
             return;
         }
 
-        try {
-            TextChannel channel = jdaInstance.getTextChannelById(discordChannelId);
-            if (channel == null) {
-                Verbatim.LOGGER.warn("[Verbatim Discord] Configured Discord channel ID '{}' not found for connection status.", discordChannelId);
-                return;
+        String username = player.getName().getString();
+        String strippedDisplayName = ChatFormattingUtils.stripFormattingCodes(player.getDisplayName().getString());
+        String effectiveName = username;
+        if (!username.equals(strippedDisplayName)) {
+            effectiveName = strippedDisplayName + " (" + username + ")";
+        }
+        String avatarUrl = "https://minotar.net/avatar/" + player.getUUID().toString().replace("-", "") + "/100";
+        pendingConnectionNotices.add(new ConnectionNotice(username, effectiveName, avatarUrl, joined));
+        updatePlayerCountStatus();
+
+        int batchSeconds = VerbatimConfig.DISCORD_CONNECTION_BATCH_SECONDS.get();
+        ScheduledExecutorService scheduler = presenceScheduler;
+        if (batchSeconds <= 0 || scheduler == null) {
+            flushConnectionNotices();
+            return;
+        }
+        if (connectionFlushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(DiscordBot::flushConnectionNotices, batchSeconds, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException e) {
+                connectionFlushScheduled.set(false);
+                flushConnectionNotices();
             }
-            
-            String username = player.getName().getString();
-            String strippedDisplayName = ChatFormattingUtils.stripFormattingCodes(player.getDisplayName().getString());
-            String effectiveName = username;
-            if (!username.equals(strippedDisplayName)) {
-                effectiveName = strippedDisplayName + " (" + username + ")";
+        }
+    }
+
+    private static void flushConnectionNotices() {
+        connectionFlushScheduled.set(false);
+        List<ConnectionNotice> notices = new ArrayList<>();
+        ConnectionNotice notice;
+        while ((notice = pendingConnectionNotices.poll()) != null) {
+            notices.add(notice);
+        }
+        if (notices.isEmpty() || !isEnabled() || discordChannelId == null) {
+            return;
+        }
+        runWhenReady(() -> relayConnectionNotices(notices));
+    }
+
+    private static void relayConnectionNotices(List<ConnectionNotice> notices) {
+        DiscordTransport t = transport;
+        if (t == null) {
+            return; // Shut down while queued
+        }
+        try {
+            // Group consecutive notices of the same kind so a quick leave/rejoin stays in order
+            int runStart = 0;
+            for (int i = 1; i <= notices.size(); i++) {
+                if (i == notices.size() || notices.get(i).joined != notices.get(runStart).joined) {
+                    if (!sendConnectionNotices(t, notices.subList(runStart, i))) {
+                        Verbatim.LOGGER.warn("[Verbatim Discord] Configured Discord channel ID '{}' not found for connection status.", discordChannelId);
+                        return;
+                    }
+                    runStart = i;
+                }
             }
+        } catch (Exception e) {
+            Verbatim.LOGGER.error("[Verbatim Discord] Could not send player connection status to Discord.", e);
+        }
+    }
 
+    // Returns false if the main channel was not found
+    private static boolean sendConnectionNotices(DiscordTransport t, List<ConnectionNotice> notices) {
+        ConnectionNotice first = notices.get(0);
+        boolean joined = first.joined;
+        if (notices.size() == 1) {
             if (useEmbedMode) {
-                String playerUUID = player.getUUID().toString().replace("-", "");
-                String avatarUrl = "https://minotar.net/avatar/" + playerUUID + "/100";
-
                 EmbedBuilder embed = new EmbedBuilder();
                 embed.setColor(joined ? new Color(0x4CAF50) : new Color(0xF44336));
-                embed.setAuthor(effectiveName + (joined ? " has joined the server." : " has left the server."), null, avatarUrl);
-                
-                channel.sendMessageEmbeds(embed.build()).queue();
-                Verbatim.LOGGER.debug("[Game -> Discord Embed] Connection Status: {} {}", effectiveName, (joined ? "joined" : "left"));
+                embed.setAuthor(first.effectiveName + (joined ? " has joined the server." : " has left the server."), null, first.avatarUrl);
+
+                if (t.sendEmbeds(discordChannelId, List.of(embed.build())) == null) {
+                    return false;
+                }
+                Verbatim.LOGGER.debug("[Game -> Discord Embed] Connection Status: {} {}", first.effectiveName, (joined ? "joined" : "left"));
             } else {
                 String statusEmoji = joined ? "➕" : "➖";
-                String plainTextMessage = statusEmoji + " " + username + " has " + (joined ? "joined" : "left") + " the server.";
-                channel.sendMessage(plainTextMessage).queue();
-                Verbatim.LOGGER.debug("[Game -> Discord Plain] Connection Status: {} {}", username, (joined ? "joined" : "left"));
+                String plainTextMessage = statusEmoji + " " + first.username + " has " + (joined ? "joined" : "left") + " the server.";
+                if (t.sendMessage(discordChannelId, plainTextMessage) == null) {
+                    return false;
+                }
+                Verbatim.LOGGER.debug("[Game -> Discord Plain] Connection Status: {} {}", first.username, (joined ? "joined" : "left"));
             }
-            // Update presence immediately after join/leave event
-            updatePlayerCountStatus();
+            return true;
+        }
 
-        } catch (Exception e) {
-            Verbatim.LOGGER.error("[Verbatim Discord] Could not send player connection status to Discord for {}.", player.getName().getString(), e);
+        if (useEmbedMode) {
+            EmbedBuilder embed = new EmbedBuilder();
+            embed.setColor(joined ? new Color(0x4CAF50) : new Color(0xF44336));
+            embed.setAuthor(notices.size() + " players have " + (joined ? "joined" : "left") + " the server.");
+            embed.setDescription(joinNames(notices, true));
+            if (t.sendEmbeds(discordChannelId, List.of(embed.build())) == null) {
+                return false;
+            }
+        } else {
+            String statusEmoji = joined ? "➕" : "➖";
+            if (t.sendMessage(discordChannelId, statusEmoji + " " + joinNames(notices, false) + " have " + (joined ? "joined" : "left") + " the server.") == null) {
+                return false;
+            }
+        }
+        Verbatim.LOGGER.debug("[Game -> Discord] Connection Status: {} players {}", notices.size(), (joined ? "joined" : "left"));
+        return true;
+    }
+
+    // Comma-separated player names, capped so a large batch stays within Discord's message limits
+    private static String joinNames(List<ConnectionNotice> notices, boolean useEffectiveName) {
+        StringBuilder names = new StringBuilder();
+        int listed = Math.min(notices.size(), MAX_NAMES_PER_CONNECTION_NOTICE);
+        for (int i = 0; i < listed; i++) {
+            if (i > 0) {
+                names.append(", ");
+            }
+            ConnectionNotice notice = notices.get(i);
+            names.append(useEffectiveName ? notice.effectiveName : notice.username);
         }
+        if (notices.size() > listed) {
+            names.append(" and ").append(notices.size() - listed).append(" more");
+        }
+        return names.toString();
+    }
+
+    /**
+     * False for a blank Discord channel ID or the placeholder older config files were generated with.
+     */
+    public static boolean isConfiguredChannelId(String channelId) {
+        return channelId != null && !channelId.trim().isEmpty() && !channelId.trim().equals(CHANNEL_ID_PLACEHOLDER);
     }
 
     public static String getDiscordMessagePrefix() {
@@ -238,13 +699,43 @@ public class DiscordBot {
         return VerbatimConfig.DISCORD_MESSAGE_SEPARATOR.get();
     }
 
+    /**
+     * True while the bot is connected or still connecting. Messages sent before the connection completes
+     * are queued (see runWhenReady).
+     */
     public static boolean isEnabled() {
-        return enabled && jdaInstance != null;
+        return enabled && (ready || connecting);
     }
 
+    /**
+     * Requests a presence refresh. Requests are debounced on the presence scheduler: at most one update is
+     * pending at a time, it runs no sooner than discordPresenceMinIntervalSeconds after the previous one,
+     * and nothing is sent to Discord if the player count has not changed.
+     */
     public static void updatePlayerCountStatus() {
-        if (jdaInstance == null || !jdaInstance.getStatus().isInit()) {
-            return; // JDA not ready
+        ScheduledExecutorService scheduler = presenceScheduler;
+        if (scheduler == null || !presenceUpdateScheduled.compareAndSet(false, true)) {
+            return; // Not running, or an update is already pending and will see the latest count
+        }
+        long minIntervalNanos = TimeUnit.SECONDS.toNanos(VerbatimConfig.DISCORD_PRESENCE_MIN_INTERVAL_SECONDS.get());
+        long sinceLastNanos = System.nanoTime() - lastPresenceUpdateNanos;
+        // Wait a moment even when the interval has passed; a logging-out player is still in the player list
+        long delayNanos = Math.max(PRESENCE_SETTLE_NANOS, minIntervalNanos - sinceLastNanos);
+        try {
+            scheduler.schedule(() -> {
+                presenceUpdateScheduled.set(false);
+                publishPlayerCountStatus();
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            presenceUpdateScheduled.set(false); // Shutting down
+        }
+    }
+
+    // Runs on the presence scheduler (or the startup thread once ready)
+    private static void publishPlayerCountStatus() {
+        DiscordTransport t = transport;
+        if (!ready || t == null || !t.isConnected()) {
+            return; // Not ready
         }
 
         MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
@@ -259,11 +750,16 @@ public class DiscordBot {
         } else {
             statusMessage = "Server Offline";
         }
+        if (statusMessage.equals(lastPresenceStatus)) {
+            return; // Unchanged; skip the gateway call
+        }
         
         try {
-            jdaInstance.getPresence().setActivity(Activity.watching(statusMessage));
+            t.setPresence(statusMessage);
+            lastPresenceStatus = statusMessage;
+            lastPresenceUpdateNanos = System.nanoTime();
         } catch (Exception e) {
             Verbatim.LOGGER.warn("[Verbatim Discord] Could not update bot presence: {}", e.getMessage());
         }
     }
-} 
\ No newline at end of file
+}
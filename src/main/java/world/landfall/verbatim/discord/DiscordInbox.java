@@ -0,0 +1,150 @@
+package world.landfall.verbatim.discord;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatFormattingUtils;
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.VerbatimConfig;
+import world.landfall.verbatim.chat.ReusedPacketDelivery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hand-off point between JDA event threads and the server thread.
+ * Discord messages are queued here by DiscordListener and delivered by {@link #tick(MinecraftServer)} to the
+ * members of the Verbatim channel they were routed to, at most discordInboundMessagesPerTick per tick;
+ * anything beyond that is summarised per channel as "+N more messages".
+ * The tick also publishes an immutable snapshot of the online players for the /list slash command.
+ */
+public class DiscordInbox {
+    private static final int MAX_PENDING = 1000; // Hard bound; messages beyond it only count towards the summary
+    private static final int PLAYER_SNAPSHOT_INTERVAL_TICKS = 20;
+
+    private static final Queue<InboundMessage> pendingMessages = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pendingCount = new AtomicInteger();
+    private static final Map<String, Integer> overflowByChannel = new ConcurrentHashMap<>();
+
+    private static class InboundMessage {
+        final String channelName;
+        final Component message;
+
+        InboundMessage(String channelName, Component message) {
+            this.channelName = channelName;
+            this.message = message;
+        }
+    }
+
+    private static volatile List<String> playerListSnapshot; // null until the first tick publishes one
+    private static int ticksSinceSnapshot = PLAYER_SNAPSHOT_INTERVAL_TICKS;
+
+    /**
+     * Queues a fully built message for delivery on the next server tick. Safe to call from any thread.
+     */
+    public static void enqueue(String channelName, Component message) {
+        if (pendingCount.incrementAndGet() > MAX_PENDING) {
+            pendingCount.decrementAndGet();
+            overflowByChannel.merge(channelName, 1, Integer::sum);
+            return;
+        }
+        pendingMessages.add(new InboundMessage(channelName, message));
+    }
+
+    /**
+     * Delivers queued Discord messages and refreshes the player list snapshot. Server thread only.
+     */
+    public static void tick(MinecraftServer server) {
+        if (++ticksSinceSnapshot >= PLAYER_SNAPSHOT_INTERVAL_TICKS) {
+            publishPlayerListSnapshot(server);
+        }
+        if (pendingCount.get() == 0 && overflowByChannel.isEmpty()) {
+            return;
+        }
+
+        int cap = VerbatimConfig.DISCORD_INBOUND_MESSAGES_PER_TICK.get();
+        int delivered = 0;
+        Map<String, Integer> skippedByChannel = new LinkedHashMap<>();
+        for (String channelName : overflowByChannel.keySet()) {
+            Integer overflowed = overflowByChannel.remove(channelName);
+            if (overflowed != null) {
+                skippedByChannel.merge(channelName, overflowed, Integer::sum);
+            }
+        }
+        InboundMessage inbound;
+        while ((inbound = pendingMessages.poll()) != null) {
+            pendingCount.decrementAndGet();
+            if (delivered < cap) {
+                deliverToChannel(server, inbound.channelName, inbound.message);
+                delivered++;
+            } else {
+                skippedByChannel.merge(inbound.channelName, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> skipped : skippedByChannel.entrySet()) {
+            deliverToChannel(server, skipped.getKey(), buildSkippedSummary(skipped.getValue()));
+        }
+        if (!skippedByChannel.isEmpty()) {
+            Verbatim.LOGGER.debug("[Discord -> Game] Delivered {} messages this tick, summarised the rest for {} channels.", delivered, skippedByChannel.size());
+        }
+    }
+
+    // Only members of the mirrored channel see Discord messages, like any other message in that channel.
+    // Sent one message at a time so each member receives them in order, one packet object per message.
+    private static void deliverToChannel(MinecraftServer server, String channelName, Component message) {
+        ReusedPacketDelivery delivery = new ReusedPacketDelivery();
+        for (ServerPlayer member : ChatChannelManager.getPlayersInChannel(server, channelName)) {
+            delivery.add(member, message);
+        }
+        delivery.send();
+    }
+
+    private static Component buildSkippedSummary(int skipped) {
+        MutableComponent summary = Component.empty();
+        String prefixStr = DiscordBot.getDiscordMessagePrefix();
+        if (prefixStr != null && !prefixStr.isEmpty()) {
+            summary.append(ChatFormattingUtils.parseColorsCached(prefixStr + " "));
+        }
+        return summary.append(Component.literal("+" + skipped + " more message" + (skipped == 1 ? "" : "s")).withStyle(ChatFormatting.GRAY));
+    }
+
+    private static void publishPlayerListSnapshot(MinecraftServer server) {
+        ticksSinceSnapshot = 0;
+        List<String> entries = new ArrayList<>();
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            String username = player.getName().getString();
+            String strippedDisplayName = ChatFormattingUtils.stripFormattingCodes(player.getDisplayName().getString());
+            entries.add(username.equals(strippedDisplayName) ? username : strippedDisplayName + " (" + username + ")");
+        }
+        playerListSnapshot = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the online players as last published by the server thread (at most a second old),
+     * or null if no snapshot exists yet. Safe to call from any thread.
+     */
+    public static List<String> getPlayerListSnapshot() {
+        return playerListSnapshot;
+    }
+
+    /**
+     * Drops queued messages and the snapshot. Called on server stop.
+     */
+    public static void clear() {
+        pendingMessages.clear();
+        pendingCount.set(0);
+        overflowByChannel.clear();
+        playerListSnapshot = null;
+        ticksSinceSnapshot = PLAYER_SNAPSHOT_INTERVAL_TICKS;
+    }
+}
@@ -7,10 +7,7 @@ import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
-import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.server.players.PlayerList;
-import net.neoforged.neoforge.server.ServerLifecycleHooks;
+import world.landfall.verbatim.ChatChannelManager;
 import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.ChatFormattingUtils;
 import net.minecraft.ChatFormatting;
@@ -26,12 +23,14 @@ public class DiscordListener extends ListenerAdapter {
         if (!DiscordBot.isEnabled()) return;
 
         User author = event.getAuthor();
-        if (author.isBot() || author.isSystem()) {
+        if (author.isBot() || author.isSystem() || event.isWebhookMessage()) { // Includes our own relay webhook
             return;
         }
 
-        String configuredChannelId = world.landfall.verbatim.VerbatimConfig.DISCORD_CHANNEL_ID.get();
-        if (!event.getChannel().getId().equals(configuredChannelId)) {
+        // Precomputed routing table: only Discord channels mirrored by a Verbatim channel are relayed
+        ChatChannelManager.ChannelConfig targetChannel = ChatChannelManager.getRegistry()
+            .byDiscordChannel(event.getChannel().getId()).orElse(null);
+        if (targetChannel == null) {
             return;
         }
 
@@ -62,7 +61,7 @@ public class DiscordListener extends ListenerAdapter {
         final int TRUNCATION_MARKER_LEN = TRUNCATION_MARKER.length();
 
         if (!prefixStr.isEmpty()) {
-            Component prefixComponent = ChatFormattingUtils.parseColors(prefixStr + " ");
+            Component prefixComponent = ChatFormattingUtils.parseColorsCached(prefixStr + " ");
             finalMessage.append(prefixComponent);
             currentLength += ChatFormattingUtils.stripFormattingCodes(prefixComponent.getString()).length();
         }
@@ -71,7 +70,7 @@ public class DiscordListener extends ListenerAdapter {
         finalMessage.append(authorComponent);
         currentLength += authorName.length(); 
         
-        Component separatorComponent = ChatFormattingUtils.parseColors(separatorStr);
+        Component separatorComponent = ChatFormattingUtils.parseColorsCached(separatorStr);
         finalMessage.append(separatorComponent);
         currentLength += ChatFormattingUtils.stripFormattingCodes(separatorComponent.getString()).length();
         
@@ -92,13 +91,9 @@ public class DiscordListener extends ListenerAdapter {
             finalMessage.append(Component.literal(originalMessageContent));
         }
 
-        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
-        if (server != null) {
-            server.getPlayerList().broadcastSystemMessage(finalMessage, false);
-            Verbatim.LOGGER.debug("[Discord -> Game] {} ({}) relayed to game chat.", authorName, author.getId());
-        } else {
-            Verbatim.LOGGER.warn("[Verbatim Discord] MinecraftServer instance is null, cannot send message to game.");
-        }
+        // Delivered on the server thread by DiscordInbox.tick
+        DiscordInbox.enqueue(targetChannel.name, finalMessage);
+        Verbatim.LOGGER.debug("[Discord -> Game] {} ({}) queued for channel '{}'.", authorName, author.getId(), targetChannel.name);
     }
 
     @Override
@@ -109,29 +104,19 @@ public class DiscordListener extends ListenerAdapter {
         }
 
         if (event.getName().equals("list")) {
-            MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
-            if (server == null) {
+            // Served from the snapshot the server thread publishes; the live player list is not thread-safe
+            List<String> onlinePlayers = DiscordInbox.getPlayerListSnapshot();
+            if (onlinePlayers == null) {
                 event.reply("Could not connect to the Minecraft server to fetch the player list.").setEphemeral(true).queue();
                 return;
             }
 
-            PlayerList mcPlayerList = server.getPlayerList();
-            List<ServerPlayer> onlinePlayers = mcPlayerList.getPlayers();
-
             if (onlinePlayers.isEmpty()) {
                 event.reply("There are no players currently online on the Minecraft server.").setEphemeral(true).queue();
                 return;
             }
 
             String playerListString = onlinePlayers.stream()
-                .map(player -> {
-                    String username = player.getName().getString();
-                    String strippedDisplayName = ChatFormattingUtils.stripFormattingCodes(player.getDisplayName().getString());
-                    if (!username.equals(strippedDisplayName)) {
-                        return strippedDisplayName + " (" + username + ")";
-                    }
-                    return username;
-                })
                 .collect(Collectors.joining("\n- ", "**Online Players (" + onlinePlayers.size() + "):**\n- ", ""));
             
             if (playerListString.length() > 1990) {
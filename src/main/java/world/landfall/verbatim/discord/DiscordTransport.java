@@ -0,0 +1,44 @@
+package world.landfall.verbatim.discord;
+
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Everything DiscordBot sends to Discord goes through this interface. The live implementation is
+ * {@link JdaTransport}; an offline implementation can be attached with DiscordBot#attachTransport to
+ * exercise relay batching, the startup queue and presence debouncing without a gateway connection.
+ * Sends return a future that completes once Discord has accepted the request (or it failed), so callers
+ * can hold further sends until then. Methods may be called from any thread, including the server thread:
+ * once the bot is ready, generic messages and join/leave notices (all of them when
+ * discordConnectionBatchSeconds is 0) are sent from the caller. Implementations must therefore never block.
+ */
+public interface DiscordTransport {
+
+    /**
+     * Posts a plain text message. Returns null if the channel is unknown.
+     */
+    CompletableFuture<?> sendMessage(String channelId, String content);
+
+    /**
+     * Posts up to 10 embeds as one message. Returns null if the channel is unknown.
+     */
+    CompletableFuture<?> sendEmbeds(String channelId, List<MessageEmbed> embeds);
+
+    /**
+     * Posts a message under a player's name and avatar through the channel's relay webhook.
+     * Returns null if no webhook is available for the channel (yet); the caller then falls back to bot messages.
+     */
+    CompletableFuture<?> sendAsPlayer(String channelId, String username, String avatarUrl, String content);
+
+    /**
+     * Sets the bot's "Watching ..." activity.
+     */
+    void setPresence(String status);
+
+    /**
+     * False once the connection is shutting down or lost, so presence updates are skipped.
+     */
+    boolean isConnected();
+}
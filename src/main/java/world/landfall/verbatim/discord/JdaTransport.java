@@ -0,0 +1,115 @@
+package world.landfall.verbatim.discord;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Activity;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.Webhook;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import world.landfall.verbatim.Verbatim;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link DiscordTransport} backed by a connected JDA instance. Sends are submitted to JDA's REST pool,
+ * which handles Discord's rate limits and retries; the returned futures complete on JDA's callback threads.
+ */
+public class JdaTransport implements DiscordTransport {
+    // Relay webhooks per Discord channel ID (webhook mode). Webhook executions have their own rate limit,
+    // separate from the bot's per-channel message limit.
+    private static final String RELAY_WEBHOOK_NAME = "Verbatim Relay";
+
+    private final JDA jda;
+    private final Map<String, TextChannel> textChannelCache = new ConcurrentHashMap<>();
+    private final Map<String, Webhook> webhookPool = new ConcurrentHashMap<>();
+    private final Set<String> webhookSetupStarted = ConcurrentHashMap.newKeySet();
+
+    public JdaTransport(JDA jda) {
+        this.jda = jda;
+    }
+
+    @Override
+    public CompletableFuture<?> sendMessage(String channelId, String content) {
+        TextChannel channel = getTextChannel(channelId);
+        if (channel == null) {
+            return null;
+        }
+        return channel.sendMessage(content).submit();
+    }
+
+    @Override
+    public CompletableFuture<?> sendEmbeds(String channelId, List<MessageEmbed> embeds) {
+        TextChannel channel = getTextChannel(channelId);
+        if (channel == null) {
+            return null;
+        }
+        return channel.sendMessageEmbeds(embeds).submit();
+    }
+
+    @Override
+    public CompletableFuture<?> sendAsPlayer(String channelId, String username, String avatarUrl, String content) {
+        TextChannel channel = getTextChannel(channelId);
+        if (channel == null) {
+            return null;
+        }
+        Webhook webhook = getRelayWebhook(channel);
+        if (webhook == null) {
+            return null;
+        }
+        return webhook.sendMessage(content).setUsername(username).setAvatarUrl(avatarUrl).submit();
+    }
+
+    @Override
+    public void setPresence(String status) {
+        jda.getPresence().setActivity(Activity.watching(status));
+    }
+
+    @Override
+    public boolean isConnected() {
+        return jda.getStatus().isInit();
+    }
+
+    /**
+     * Resolves a Discord text channel, caching the handle so sends do not look it up every time.
+     * Returns null if the channel does not exist.
+     */
+    private TextChannel getTextChannel(String channelId) {
+        TextChannel channel = textChannelCache.get(channelId);
+        if (channel == null) {
+            channel = jda.getTextChannelById(channelId);
+            if (channel != null) {
+                textChannelCache.put(channelId, channel);
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Returns the pooled relay webhook for a channel, or null if it is not available yet. The first call
+     * for a channel reuses the bot's existing relay webhook there or creates one, asynchronously.
+     * Needs the Manage Webhooks permission; without it the channel keeps using bot messages.
+     */
+    private Webhook getRelayWebhook(TextChannel channel) {
+        Webhook webhook = webhookPool.get(channel.getId());
+        if (webhook == null && webhookSetupStarted.add(channel.getId())) {
+            channel.retrieveWebhooks().queue(webhooks -> {
+                Webhook existing = webhooks.stream()
+                    .filter(w -> RELAY_WEBHOOK_NAME.equals(w.getName()) && w.getToken() != null)
+                    .findFirst().orElse(null);
+                if (existing != null) {
+                    webhookPool.put(channel.getId(), existing);
+                    Verbatim.LOGGER.info("[Verbatim Discord] Using existing relay webhook in #{}.", channel.getName());
+                    return;
+                }
+                channel.createWebhook(RELAY_WEBHOOK_NAME).queue(created -> {
+                    webhookPool.put(channel.getId(), created);
+                    Verbatim.LOGGER.info("[Verbatim Discord] Created relay webhook in #{}.", channel.getName());
+                }, error -> Verbatim.LOGGER.warn("[Verbatim Discord] Could not create a relay webhook in #{}, falling back to bot messages: {}", channel.getName(), error.getMessage()));
+            }, error -> Verbatim.LOGGER.warn("[Verbatim Discord] Could not read webhooks in #{} (needs Manage Webhooks), falling back to bot messages: {}", channel.getName(), error.getMessage()));
+        }
+        return webhook;
+    }
+}
@@ -1,6 +1,8 @@
 package world.landfall.verbatim.specialchannels;
 
 import net.minecraft.network.chat.MutableComponent;
+import world.landfall.verbatim.VerbatimConfig;
+import world.landfall.verbatim.core.DistanceTiers;
 
 /**
  * Data class to hold the results of special channel message formatting.
@@ -11,35 +13,51 @@ public class FormattedMessageDetails {
     private final boolean isRoleplayMessage;
     private final String channelMessageColorForObscuring; // e.g., "&7", used if !isRoleplayMessage
 
+    private final DistanceTiers tiers;
+    private final MutableComponent[] obscuredTiers; // Built lazily, shared by every recipient in the tier
+
     public FormattedMessageDetails(MutableComponent formattedMessage, int effectiveRange, boolean isRoleplayMessage, String channelMessageColorForObscuring) {
         this.formattedMessage = formattedMessage;
         this.effectiveRange = effectiveRange;
         this.isRoleplayMessage = isRoleplayMessage;
         this.channelMessageColorForObscuring = channelMessageColorForObscuring;
+
+        this.tiers = new DistanceTiers(effectiveRange, effectiveRange < 0 ? 0 : VerbatimConfig.LOCAL_OBSCURE_TIERS.get());
+        this.obscuredTiers = new MutableComponent[tiers.tierCount()];
     }
 
     /**
      * Gets the appropriate message component for a recipient at the given distance.
      * For special local channels (non-roleplay), this may return an obscured version based on distance.
+     * Recipients in the same obscurity tier receive the same instance.
      */
     public MutableComponent getMessageForDistance(double distanceSquared) {
-        if (effectiveRange < 0) return formattedMessage.copy(); // Global messages, no obscuring
-        
-        double distance = Math.sqrt(distanceSquared);
-        if (distance <= effectiveRange) return formattedMessage.copy(); // Within clear range
-        
-        // If outside clear range, check if it should be obscured or not shown at all
-        if (distance <= effectiveRange * LocalChannelFormatter.FADE_MULTIPLIER) {
-            // This will internally check isRoleplayMessage and not obscure if true
-            return LocalChannelFormatter.createDistanceObscuredMessage(
-                formattedMessage, 
-                distanceSquared, 
-                effectiveRange, 
-                isRoleplayMessage, 
-                channelMessageColorForObscuring
-            );
+        return getMessageForTier(tiers.tierFor(distanceSquared));
+    }
+
+    /**
+     * Gets the message component for a tier of {@link #getTiers()}, or null for {@link DistanceTiers#OUT_OF_RANGE}.
+     */
+    public MutableComponent getMessageForTier(int tier) {
+        // Clear recipients share the original instance so delivery can hand them one packet object
+        if (tier == DistanceTiers.CLEAR) return formattedMessage;
+        if (tier == DistanceTiers.OUT_OF_RANGE) return null; // Too far to receive message
+        return getObscuredTier(tier);
+    }
+
+    public DistanceTiers getTiers() {
+        return tiers;
+    }
+
+    private MutableComponent getObscuredTier(int tier) {
+        if (isRoleplayMessage) {
+            return formattedMessage; // Roleplay messages are never obscured
+        }
+        MutableComponent variant = obscuredTiers[tier];
+        if (variant == null) {
+            variant = LocalChannelFormatter.createObscuredMessage(formattedMessage, tiers.obscurePercentage(tier), channelMessageColorForObscuring);
+            obscuredTiers[tier] = variant;
         }
-        
-        return null; // Too far to receive message
+        return variant;
     }
-} 
\ No newline at end of file
+}
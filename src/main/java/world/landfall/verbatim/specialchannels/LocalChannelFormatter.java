@@ -3,9 +3,12 @@ package world.landfall.verbatim.specialchannels;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.chat.Style;
 import net.minecraft.server.level.ServerPlayer;
 import world.landfall.verbatim.ChatChannelManager;
 import world.landfall.verbatim.ChatFormattingUtils;
+import world.landfall.verbatim.chat.ChannelTemplate;
+import world.landfall.verbatim.core.LocalSpeech;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,9 +19,17 @@ import java.util.Random;
  */
 public class LocalChannelFormatter {
     private static final Random RANDOM = new Random();
-    public static final double FADE_MULTIPLIER = 2.0; // How much further beyond range until fully obscured
+    public static final double FADE_MULTIPLIER = LocalSpeech.FADE_MULTIPLIER; // How much further beyond range until fully obscured
     private static final String OBSCURE_CHARS = "."; // Using single dot for better char-by-char replacement
 
+    // Local verbs and tags are the same for every message, so they are built once and shared
+    private static final Component VERB_SAYS = Component.literal("says: ");
+    private static final Component VERB_SHOUTS = Component.literal("shouts: ");
+    private static final Component VERB_EXCLAIMS = Component.literal("exclaims: ");
+    private static final Component VERB_WHISPERS = Component.literal("whispers: ");
+    private static final Component VERB_MUTTERS = Component.literal("mutters: ");
+    private static final Component OOC_TAG = Component.literal("[OOC] ").withStyle(ChatFormatting.DARK_GRAY);
+
     /**
      * Creates a partially obscured version of a message based on distance,
      * affecting only the message content part.
@@ -42,6 +53,18 @@ public class LocalChannelFormatter {
         // Calculate how obscured the message should be (0.0 to 1.0)
         double maxRangeObscureEnds = effectiveRange * FADE_MULTIPLIER;
         double obscurePercentage = (distance - effectiveRange) / (maxRangeObscureEnds - effectiveRange);
+        return createObscuredMessage(originalMessage, obscurePercentage, channelMessageColorString);
+    }
+
+    /**
+     * Creates a partially obscured version of a message with a fixed fraction of the
+     * message content characters replaced, independent of any particular listener's distance.
+     */
+    public static MutableComponent createObscuredMessage(
+            MutableComponent originalMessage,
+            double obscurePercentage, // 0.0 = clear, 1.0 = fully obscured
+            String channelMessageColorString) {
+
         obscurePercentage = Math.min(1.0, Math.max(0.0, obscurePercentage));
 
         List<Component> originalSiblings = originalMessage.getSiblings();
@@ -66,27 +89,38 @@ public class LocalChannelFormatter {
             return originalMessage.copy(); 
         }
 
-        // Append all prefix components (everything before the determined message content component)
+        // Append all prefix components (everything before the determined message content component).
+        // These are never mutated afterwards, so the original instances are shared rather than copied.
         for (int i = 0; i < firstMessageContentComponentIndex; i++) {
-            reconstructedMessage.append(originalSiblings.get(i).copy());
+            reconstructedMessage.append(originalSiblings.get(i));
         }
 
-        // Process the component(s) deemed to be message content
+        // Kept characters all use the channel's message colour, so resolve it to a Style once.
+        // We assume channelMessageColorString is like "&7" or "&c&l"
+        Style keptStyle = ChatFormattingUtils.parseStyle(channelMessageColorString);
+        Style obscuredStyle = Style.EMPTY.withColor(ChatFormatting.DARK_GRAY);
+
+        // Process the component(s) deemed to be message content, emitting one literal per run of
+        // consecutive kept or obscured characters instead of one per character
+        StringBuilder run = new StringBuilder();
+        boolean runObscured = false;
         for (int i = firstMessageContentComponentIndex; i < originalSiblings.size(); i++) {
             Component messagePartComponent = originalSiblings.get(i);
             String textToObscure = messagePartComponent.getString();
 
-            for (char c : textToObscure.toCharArray()) {
-                if (RANDOM.nextDouble() < obscurePercentage) {
-                    reconstructedMessage.append(Component.literal(String.valueOf(OBSCURE_CHARS.charAt(RANDOM.nextInt(OBSCURE_CHARS.length()))))
-                        .withStyle(ChatFormatting.DARK_GRAY));
-                } else {
-                    // Append original character with the channel's default message color
-                    // We assume channelMessageColorString is like "&7" or "&c&l"
-                    reconstructedMessage.append(ChatFormattingUtils.parseColors(channelMessageColorString + c));
+            for (int j = 0; j < textToObscure.length(); j++) {
+                boolean obscure = RANDOM.nextDouble() < obscurePercentage;
+                if (obscure != runObscured && run.length() > 0) {
+                    reconstructedMessage.append(Component.literal(run.toString()).setStyle(runObscured ? obscuredStyle : keptStyle));
+                    run.setLength(0);
                 }
+                runObscured = obscure;
+                run.append(obscure ? OBSCURE_CHARS.charAt(RANDOM.nextInt(OBSCURE_CHARS.length())) : textToObscure.charAt(j));
             }
         }
+        if (run.length() > 0) {
+            reconstructedMessage.append(Component.literal(run.toString()).setStyle(runObscured ? obscuredStyle : keptStyle));
+        }
         return reconstructedMessage;
     }
 
@@ -113,73 +147,35 @@ public class LocalChannelFormatter {
         }
 
         // Parse suffix and determine behavior
-        int effectiveRange = 50; // Default range for local channels
-        String localActionText = "says:"; // Default verb
-        String actualMessageContent = originalMessageContent;
-        boolean applyPlusStyleFormatting = false;
-
-        String messageAfterSuffixRemoval = originalMessageContent;
-
-        if (originalMessageContent.endsWith("!!")) {
-            effectiveRange = 100;
-            localActionText = "shouts:";
-            messageAfterSuffixRemoval = originalMessageContent.substring(0, originalMessageContent.length() - 2);
-        } else if (originalMessageContent.endsWith("!")) {
-            effectiveRange = 75;
-            localActionText = "exclaims:";
-            messageAfterSuffixRemoval = originalMessageContent.substring(0, originalMessageContent.length() - 1);
-        } else if (originalMessageContent.endsWith("*")) {
-            effectiveRange = 10;
-            localActionText = "whispers:";
-            messageAfterSuffixRemoval = originalMessageContent.substring(0, originalMessageContent.length() - 1);
-        } else if (originalMessageContent.endsWith("$")) {
-            effectiveRange = 3;
-            localActionText = "mutters:";
-            messageAfterSuffixRemoval = originalMessageContent.substring(0, originalMessageContent.length() - 1);
-        } else if (originalMessageContent.endsWith("+")) {
-            effectiveRange = 50;
-            localActionText = ""; // No verb, direct action text formatting
-            applyPlusStyleFormatting = true;
-            messageAfterSuffixRemoval = originalMessageContent.substring(0, originalMessageContent.length() - 1);
-        } else if (originalMessageContent.endsWith("))")) {
-            effectiveRange = 50; // Global range for local OOC
-            localActionText = ""; // No verb for OOC
-            applyPlusStyleFormatting = false;
-            messageAfterSuffixRemoval = originalMessageContent.substring(0, originalMessageContent.length() - 2);
-            
+        LocalSpeech speech = LocalSpeech.parse(originalMessageContent);
+        int effectiveRange = speech.range();
+        String actualMessageContent = speech.content;
+
+        if (speech.mode == LocalSpeech.Mode.OOC) {
             // Create OOC format
             MutableComponent finalMessage = Component.empty();
-            finalMessage.append(Component.literal("[OOC] ").withStyle(ChatFormatting.DARK_GRAY));
+            finalMessage.append(OOC_TAG);
             
             // Add player name
             String playerName = sender.getName().getString();
             String displayName = sender.getDisplayName().getString();
             
             finalMessage.append(Component.literal(playerName + " (" + displayName + "): ").withStyle(ChatFormatting.DARK_GRAY));
-            finalMessage.append(Component.literal(messageAfterSuffixRemoval.trim()).withStyle(ChatFormatting.DARK_GRAY));
+            finalMessage.append(Component.literal(actualMessageContent).withStyle(ChatFormatting.DARK_GRAY));
             
             return Optional.of(new FormattedMessageDetails(finalMessage, effectiveRange, false, "&8")); // Use dark gray for any obscuring
         }
-        // If no suffix matches, use defaults (range 50, " says:")
+        Component localAction = verbFor(speech.mode); // null for roleplay, which has no verb
+        boolean applyPlusStyleFormatting = speech.mode == LocalSpeech.Mode.ROLEPLAY;
 
-        actualMessageContent = messageAfterSuffixRemoval.trim();
-
-        // Build the formatted message
-        MutableComponent finalMessage = Component.empty();
-        
-        // Add channel prefix
-        finalMessage.append(ChatFormattingUtils.parseColors(channelConfig.displayPrefix));
-        finalMessage.append(Component.literal(" "));
-        
-        // Add player name
+        // Build the formatted message from the channel's precompiled prefix and the player name
         Component playerNameComponent = ChatFormattingUtils.createPlayerNameComponent(sender, channelConfig.nameColor, false);
-        finalMessage.append(playerNameComponent);
-        finalMessage.append(Component.literal(" "));
+        MutableComponent finalMessage = channelConfig.template.header(playerNameComponent);
+        finalMessage.append(ChannelTemplate.SPACE);
         
         // Add action text (if any)
-        if (!localActionText.isEmpty()) {
-            finalMessage.append(Component.literal(localActionText));
-            finalMessage.append(Component.literal(" "));
+        if (localAction != null) {
+            finalMessage.append(localAction);
         }
 
         // Add message content with special formatting if needed
@@ -189,12 +185,23 @@ public class LocalChannelFormatter {
             return Optional.of(new FormattedMessageDetails(finalMessage, effectiveRange, true, null)); 
         } else {
             // Standard formatting for other local types
-            finalMessage.append(ChatFormattingUtils.parseColors(channelConfig.messageColor + actualMessageContent));
+            finalMessage.append(channelConfig.template.body(actualMessageContent));
             // For standard local, pass the channel's message color for obscuring logic
             return Optional.of(new FormattedMessageDetails(finalMessage, effectiveRange, false, channelConfig.messageColor));
         }
     }
 
+    private static Component verbFor(LocalSpeech.Mode mode) {
+        switch (mode) {
+            case SHOUT: return VERB_SHOUTS;
+            case EXCLAIM: return VERB_EXCLAIMS;
+            case WHISPER: return VERB_WHISPERS;
+            case MUTTER: return VERB_MUTTERS;
+            case ROLEPLAY: return null;
+            default: return VERB_SAYS;
+        }
+    }
+
     /**
      * Handles the special '+' suffix formatting with italics and quote handling.
      */
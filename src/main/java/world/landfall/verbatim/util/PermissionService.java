@@ -2,12 +2,62 @@ package world.landfall.verbatim.util;
 
 import net.minecraft.server.level.ServerPlayer;
 import world.landfall.verbatim.Verbatim; // For LOGGER
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class PermissionService {
     private Object luckPermsApi;
-    private Boolean luckPermsAvailable; // Use Boolean (nullable) to track if we've checked yet
+    // Use Boolean (nullable) to track if we've checked yet. Volatile, since checks also run off the server thread
+    // (relay, LuckPerms events); it is written after the API and handles below, so reading it first publishes them.
+    private volatile Boolean luckPermsAvailable;
+
+    // LuckPerms call chain resolved once against the API interfaces, so checks don't look up methods per call.
+    // LuckPerms stays a soft dependency: these are only populated if its classes are present at runtime.
+    private MethodHandle getUserHandle; // (UUID) -> User, null if not cached by LuckPerms
+    private MethodHandle loadUserHandle; // (UUID) -> CompletableFuture<User>
+    private MethodHandle checkPermissionHandle; // (User, String node) -> boolean
+
+    // Per-(player, node) decisions. With LuckPerms these are dropped when LuckPerms reports that the player's
+    // (or any group's) data was recalculated or that the player's contexts changed (world, dimension, gamemode),
+    // and otherwise kept for a minute, in case a context source never signals an update. On the vanilla OP
+    // fallback they expire after a short TTL, since OP changes raise no event. Written from LuckPerms event
+    // threads, hence concurrent.
+    // Invalidation detaches a player's whole map rather than clearing it, and a check writes its result into the
+    // map it looked up before checking. A result computed across an invalidation therefore lands in a detached
+    // map and is never read, instead of surviving as a stale long-lived entry.
+    private static final long DECISION_TTL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long SUBSCRIBED_DECISION_TTL_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private final Map<UUID, Map<String, CachedDecision>> decisionCache = new ConcurrentHashMap<>();
+    private volatile boolean luckPermsEventsSubscribed = false;
+
+    // Players whose LuckPerms data is being loaded asynchronously, and who to tell when it arrives
+    private final Set<UUID> pendingUserLoads = ConcurrentHashMap.newKeySet();
+    // After a failed load, when the next one may start, so checks don't start a load each
+    private static final long LOAD_RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private final Map<UUID, Long> loadRetryAfterNanos = new ConcurrentHashMap<>();
+    private volatile Consumer<UUID> userDataLoadedListener;
+
+    private static final class CachedDecision {
+        final boolean result;
+        final int opLevel; // Only meaningful for the vanilla fallback, but part of the cache key
+        final long expiresAtNanos;
+
+        CachedDecision(boolean result, int opLevel, long expiresAtNanos) {
+            this.result = result;
+            this.opLevel = opLevel;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
 
     public PermissionService() {
         // Don't check for LuckPerms here - it might not be loaded yet
@@ -26,13 +76,15 @@ public class PermissionService {
                 Class<?> luckPermsProviderClass = Class.forName("net.luckperms.api.LuckPermsProvider");
                 Method getMethod = luckPermsProviderClass.getMethod("get");
                 this.luckPermsApi = getMethod.invoke(null);
+                resolveLuckPermsHandles(luckPermsProviderClass.getClassLoader());
                 this.luckPermsAvailable = true;
                 Verbatim.LOGGER.info("[Verbatim PermissionService] LuckPerms API found and loaded. Permissions will be handled by LuckPerms.");
+                subscribeToLuckPermsRecalculation(luckPermsProviderClass.getClassLoader());
             } catch (ClassNotFoundException e) {
                 this.luckPermsApi = null;
                 this.luckPermsAvailable = false;
                 Verbatim.LOGGER.warn("[Verbatim PermissionService] LuckPerms classes not found. Permissions will use vanilla OP levels as fallback.");
-            } catch (Exception e) {
+            } catch (Throwable e) {
                 this.luckPermsApi = null;
                 this.luckPermsAvailable = false;
                 Verbatim.LOGGER.warn("[Verbatim PermissionService] LuckPerms API not available: {}. Permissions will use vanilla OP levels as fallback.", e.getMessage());
@@ -40,6 +92,206 @@ public class PermissionService {
         }
     }
 
+    /**
+     * Resolves the LuckPerms API methods into MethodHandles typed with Object in place of LuckPerms types,
+     * so they can be invoked exactly without compiling against LuckPerms.
+     */
+    private void resolveLuckPermsHandles(ClassLoader classLoader) throws Throwable {
+        Class<?> luckPermsClass = Class.forName("net.luckperms.api.LuckPerms", true, classLoader);
+        Class<?> userManagerClass = Class.forName("net.luckperms.api.model.user.UserManager", true, classLoader);
+        Class<?> userClass = Class.forName("net.luckperms.api.model.user.User", true, classLoader);
+        Class<?> cachedDataManagerClass = Class.forName("net.luckperms.api.cacheddata.CachedDataManager", true, classLoader);
+        Class<?> permissionDataClass = Class.forName("net.luckperms.api.cacheddata.CachedPermissionData", true, classLoader);
+        Class<?> tristateClass = Class.forName("net.luckperms.api.util.Tristate", true, classLoader);
+
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        // The UserManager instance lives as long as the API instance, so bind it in once
+        Object userManager = lookup.findVirtual(luckPermsClass, "getUserManager", MethodType.methodType(userManagerClass))
+            .invoke(this.luckPermsApi);
+        this.getUserHandle = lookup.findVirtual(userManagerClass, "getUser", MethodType.methodType(userClass, UUID.class))
+            .bindTo(userManager)
+            .asType(MethodType.methodType(Object.class, UUID.class));
+        this.loadUserHandle = lookup.findVirtual(userManagerClass, "loadUser", MethodType.methodType(CompletableFuture.class, UUID.class))
+            .bindTo(userManager)
+            .asType(MethodType.methodType(Object.class, UUID.class));
+
+        // user.getCachedData().getPermissionData().checkPermission(node).asBoolean() as a single handle
+        MethodHandle getCachedData = lookup.findVirtual(userClass, "getCachedData", MethodType.methodType(cachedDataManagerClass));
+        MethodHandle getPermissionData = lookup.findVirtual(cachedDataManagerClass, "getPermissionData", MethodType.methodType(permissionDataClass));
+        MethodHandle checkPermission = lookup.findVirtual(permissionDataClass, "checkPermission", MethodType.methodType(tristateClass, String.class));
+        MethodHandle asBoolean = lookup.findVirtual(tristateClass, "asBoolean", MethodType.methodType(boolean.class));
+        MethodHandle userToPermissionData = MethodHandles.filterReturnValue(getCachedData, getPermissionData);
+        MethodHandle checkToBoolean = MethodHandles.filterReturnValue(checkPermission, asBoolean);
+        this.checkPermissionHandle = MethodHandles.filterArguments(checkToBoolean, 0, userToPermissionData)
+            .asType(MethodType.methodType(boolean.class, Object.class, String.class));
+    }
+
+    /**
+     * Registers listeners on the LuckPerms event bus so cached decisions are dropped as soon as LuckPerms
+     * recalculates a user's or group's data, or a player's contexts change. If this fails, LuckPerms decisions
+     * fall back to the short TTL.
+     */
+    private void subscribeToLuckPermsRecalculation(ClassLoader classLoader) {
+        try {
+            Class<?> luckPermsClass = Class.forName("net.luckperms.api.LuckPerms", true, classLoader);
+            Class<?> eventBusClass = Class.forName("net.luckperms.api.event.EventBus", true, classLoader);
+            Class<?> subscriptionClass = Class.forName("net.luckperms.api.event.EventSubscription", true, classLoader);
+            Class<?> userRecalculateClass = Class.forName("net.luckperms.api.event.user.UserDataRecalculateEvent", true, classLoader);
+            Class<?> groupRecalculateClass = Class.forName("net.luckperms.api.event.group.GroupDataRecalculateEvent", true, classLoader);
+            Class<?> contextUpdateClass = Class.forName("net.luckperms.api.event.context.ContextUpdateEvent", true, classLoader);
+            Class<?> userClass = Class.forName("net.luckperms.api.model.user.User", true, classLoader);
+
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Object eventBus = lookup.findVirtual(luckPermsClass, "getEventBus", MethodType.methodType(eventBusClass))
+                .invoke(this.luckPermsApi);
+            MethodHandle subscribe = lookup.findVirtual(eventBusClass, "subscribe", MethodType.methodType(subscriptionClass, Class.class, Consumer.class))
+                .bindTo(eventBus);
+
+            // event.getUser().getUniqueId()
+            MethodHandle eventUserId = MethodHandles.filterReturnValue(
+                    lookup.findVirtual(userRecalculateClass, "getUser", MethodType.methodType(userClass)),
+                    lookup.findVirtual(userClass, "getUniqueId", MethodType.methodType(UUID.class)))
+                .asType(MethodType.methodType(UUID.class, Object.class));
+
+            Consumer<Object> onUserRecalculated = event -> {
+                try {
+                    invalidate((UUID) eventUserId.invokeExact(event));
+                } catch (Throwable e) {
+                    invalidateAll();
+                }
+            };
+            // A group change can affect any number of online players
+            Consumer<Object> onGroupRecalculated = event -> invalidateAll();
+
+            // Context-dependent nodes (e.g. world=nether) change without a data recalculation. On NeoForge the
+            // event's subject is the ServerPlayer.
+            MethodHandle eventSubject = lookup.findVirtual(contextUpdateClass, "getSubject", MethodType.methodType(Object.class))
+                .asType(MethodType.methodType(Object.class, Object.class));
+            Consumer<Object> onContextUpdated = event -> {
+                try {
+                    Object subject = (Object) eventSubject.invokeExact(event);
+                    if (subject instanceof ServerPlayer) {
+                        invalidate(((ServerPlayer) subject).getUUID());
+                    } else {
+                        invalidateAll();
+                    }
+                } catch (Throwable e) {
+                    invalidateAll();
+                }
+            };
+
+            subscribe.invoke(userRecalculateClass, onUserRecalculated);
+            subscribe.invoke(groupRecalculateClass, onGroupRecalculated);
+            subscribe.invoke(contextUpdateClass, onContextUpdated);
+            this.luckPermsEventsSubscribed = true;
+            Verbatim.LOGGER.info("[Verbatim PermissionService] Subscribed to LuckPerms recalculation and context events for permission cache invalidation.");
+        } catch (Throwable e) {
+            this.luckPermsEventsSubscribed = false;
+            Verbatim.LOGGER.warn("[Verbatim PermissionService] Could not subscribe to LuckPerms events ({}). Cached permission decisions will expire after {}s instead.",
+                                 e.getMessage(), TimeUnit.NANOSECONDS.toSeconds(DECISION_TTL_NANOS));
+        }
+    }
+
+    /**
+     * Sets the callback run when a player's LuckPerms data finishes loading asynchronously.
+     * It is called on a LuckPerms thread, so implementations should hand off to the server thread.
+     */
+    public void setUserDataLoadedListener(Consumer<UUID> listener) {
+        this.userDataLoadedListener = listener;
+    }
+
+    /**
+     * Starts loading a player's LuckPerms data in the background if LuckPerms does not have it cached yet.
+     * Called at login so permission checks on the server thread never have to wait for storage.
+     */
+    public void prefetchUser(ServerPlayer player) {
+        ensureLuckPermsChecked();
+        if (!this.luckPermsAvailable || this.luckPermsApi == null) {
+            return;
+        }
+        try {
+            Object user = (Object) this.getUserHandle.invokeExact(player.getUUID());
+            if (user == null) {
+                requestUserLoad(player.getUUID(), player.getName().getString());
+            }
+        } catch (Throwable e) {
+            Verbatim.LOGGER.error("[Verbatim PermissionService] Error checking LuckPerms user cache for '{}': {}", player.getName().getString(), e.getMessage());
+        }
+    }
+
+    /**
+     * True while a player's LuckPerms data is still loading, or waiting to retry after a failed load, meaning
+     * any denial from hasPermission is only provisional. Callers should not auto-leave channels, drop saved
+     * state or report a denial based on a provisional one; the user data loaded listener fires once the real
+     * decision is available.
+     */
+    public boolean isUserDataPending(ServerPlayer player) {
+        return player != null && (pendingUserLoads.contains(player.getUUID()) || loadRetryAfterNanos.containsKey(player.getUUID()));
+    }
+
+    private void requestUserLoad(UUID playerId, String playerName) {
+        Long retryAfter = loadRetryAfterNanos.get(playerId);
+        if (retryAfter != null && System.nanoTime() - retryAfter < 0) {
+            return; // Backing off after a failed load
+        }
+        if (!pendingUserLoads.add(playerId)) {
+            return; // Already loading
+        }
+        loadRetryAfterNanos.remove(playerId); // Only once marked as loading, so the player never looks settled in between
+        try {
+            CompletableFuture<?> future = (CompletableFuture<?>) (Object) this.loadUserHandle.invokeExact(playerId);
+            future.whenComplete((loadedUser, error) -> {
+                invalidate(playerId); // Drop anything decided before the data arrived
+                if (error != null || loadedUser == null) {
+                    loadRetryAfterNanos.put(playerId, System.nanoTime() + LOAD_RETRY_BACKOFF_NANOS);
+                    pendingUserLoads.remove(playerId);
+                    Verbatim.LOGGER.error("[Verbatim PermissionService] Failed to load user '{}' from LuckPerms: {}. Retrying in {}s at the earliest.",
+                                        playerName, error != null ? error.getMessage() : "no user returned",
+                                        TimeUnit.NANOSECONDS.toSeconds(LOAD_RETRY_BACKOFF_NANOS));
+                    return;
+                }
+                pendingUserLoads.remove(playerId);
+                Verbatim.LOGGER.debug("[Verbatim PermissionService] LuckPerms user '{}' loaded asynchronously.", playerName);
+                Consumer<UUID> listener = this.userDataLoadedListener;
+                if (listener != null) {
+                    listener.accept(playerId);
+                }
+            });
+        } catch (Throwable e) {
+            loadRetryAfterNanos.put(playerId, System.nanoTime() + LOAD_RETRY_BACKOFF_NANOS);
+            pendingUserLoads.remove(playerId);
+            Verbatim.LOGGER.error("[Verbatim PermissionService] Failed to start loading user '{}' from LuckPerms: {}", playerName, e.getMessage());
+        }
+    }
+
+    /**
+     * Forgets everything held for a player on logout: cached decisions and any load backoff, so the next
+     * login starts a fresh load.
+     */
+    public void forgetPlayer(UUID playerId) {
+        loadRetryAfterNanos.remove(playerId);
+        invalidate(playerId);
+    }
+
+    /**
+     * Drops all cached permission decisions for a player, e.g. on logout. Checks already in progress for
+     * the player will not cache their result.
+     */
+    public void invalidate(UUID playerId) {
+        decisionCache.remove(playerId);
+    }
+
+    public void invalidateAll() {
+        decisionCache.clear();
+    }
+
+    private static boolean cacheDecision(Map<String, CachedDecision> playerDecisions, String permissionNode, int opLevel, boolean result, boolean invalidatedByEvents) {
+        long expiresAt = System.nanoTime() + (invalidatedByEvents ? SUBSCRIBED_DECISION_TTL_NANOS : DECISION_TTL_NANOS);
+        playerDecisions.put(permissionNode, new CachedDecision(result, opLevel, expiresAt));
+        return result;
+    }
+
     public boolean isLuckPermsAvailable() {
         ensureLuckPermsChecked();
         return this.luckPermsAvailable;
@@ -66,77 +318,37 @@ public class PermissionService {
         // Lazy-check for LuckPerms availability
         ensureLuckPermsChecked();
 
+        // Taken before checking; see decisionCache. A player who has logged out gets a throwaway map, so checks
+        // made after forgetPlayer (e.g. by logout handlers) leave nothing behind in the cache.
+        Map<String, CachedDecision> playerDecisions = player.hasDisconnected()
+            ? new HashMap<>()
+            : decisionCache.computeIfAbsent(player.getUUID(), k -> new ConcurrentHashMap<>());
+        CachedDecision cached = playerDecisions.get(permissionNode);
+        if (cached != null && cached.opLevel == opLevelIfLuckPermsAbsent && System.nanoTime() - cached.expiresAtNanos < 0) {
+            return cached.result;
+        }
+
         if (this.luckPermsAvailable && this.luckPermsApi != null) {
             try {
-                // Use reflection to access LuckPerms API
-                // Get UserManager
-                Method getUserManagerMethod = this.luckPermsApi.getClass().getMethod("getUserManager");
-                Object userManager = getUserManagerMethod.invoke(this.luckPermsApi);
-                
-                // Get User
-                Method getUserMethod = userManager.getClass().getMethod("getUser", UUID.class);
-                Object user = getUserMethod.invoke(userManager, player.getUUID());
+                Object user = (Object) this.getUserHandle.invokeExact(player.getUUID());
                 
                 if (user != null) {
-                    // Get permission check result
-                    Method getCachedDataMethod = user.getClass().getMethod("getCachedData");
-                    Object cachedData = getCachedDataMethod.invoke(user);
-                    
-                    Method getPermissionDataMethod = cachedData.getClass().getMethod("getPermissionData");
-                    Object permissionData = getPermissionDataMethod.invoke(cachedData);
-                    
-                    Method checkPermissionMethod = permissionData.getClass().getMethod("checkPermission", String.class);
-                    Object permissionResult = checkPermissionMethod.invoke(permissionData, permissionNode);
-                    
-                    Method asBooleanMethod = permissionResult.getClass().getMethod("asBoolean");
-                    boolean checkResult = (Boolean) asBooleanMethod.invoke(permissionResult);
+                    boolean checkResult = (boolean) this.checkPermissionHandle.invokeExact(user, permissionNode);
                     
                     Verbatim.LOGGER.debug("[Verbatim PermissionService] LuckPerms check for player '{}', node '{}': {} (UUID: {})", 
                                        player.getName().getString(), permissionNode, checkResult, player.getUUID());
                     
-                    return checkResult;
+                    return cacheDecision(playerDecisions, permissionNode, opLevelIfLuckPermsAbsent, checkResult, this.luckPermsEventsSubscribed);
                 } else {
-                    Verbatim.LOGGER.warn("[Verbatim PermissionService] LuckPerms available, but user '{}' (UUID: {}) not found by LuckPerms. " +
-                                       "This might happen if the user just joined. Attempting to load user...",
-                                       player.getName().getString(), player.getUUID());
-                    
-                    // Try to load the user synchronously (this might block briefly)
-                    try {
-                        Method loadUserMethod = userManager.getClass().getMethod("loadUser", UUID.class);
-                        Object completableFuture = loadUserMethod.invoke(userManager, player.getUUID());
-                        Method getMethod = completableFuture.getClass().getMethod("get");
-                        Object loadedUser = getMethod.invoke(completableFuture);
-                        
-                        if (loadedUser != null) {
-                            // Get permission check result for loaded user
-                            Method getCachedDataMethod = loadedUser.getClass().getMethod("getCachedData");
-                            Object cachedData = getCachedDataMethod.invoke(loadedUser);
-                            
-                            Method getPermissionDataMethod = cachedData.getClass().getMethod("getPermissionData");
-                            Object permissionData = getPermissionDataMethod.invoke(cachedData);
-                            
-                            Method checkPermissionMethod = permissionData.getClass().getMethod("checkPermission", String.class);
-                            Object permissionResult = checkPermissionMethod.invoke(permissionData, permissionNode);
-                            
-                            Method asBooleanMethod = permissionResult.getClass().getMethod("asBoolean");
-                            boolean checkResult = (Boolean) asBooleanMethod.invoke(permissionResult);
-                            
-                            Verbatim.LOGGER.info("[Verbatim PermissionService] After loading user '{}', permission check for node '{}': {}", 
-                                               player.getName().getString(), permissionNode, checkResult);
-                            return checkResult;
-                        }
-                    } catch (Exception e) {
-                        Verbatim.LOGGER.error("[Verbatim PermissionService] Failed to load user '{}' from LuckPerms: {}", 
-                                            player.getName().getString(), e.getMessage());
-                    }
-                    
-                    // If we still can't load the user, deny permission
-                    Verbatim.LOGGER.warn("[Verbatim PermissionService] Could not load user '{}' from LuckPerms. Denying permission '{}'.", 
+                    // Never block the calling (usually server) thread on LuckPerms storage. Start an async load and
+                    // answer provisionally; callers must not act destructively while isUserDataPending is true.
+                    requestUserLoad(player.getUUID(), player.getName().getString());
+                    Verbatim.LOGGER.debug("[Verbatim PermissionService] LuckPerms user '{}' not loaded yet. Provisionally denying permission '{}'.", 
                                        player.getName().getString(), permissionNode);
                     return false; 
                 }
-            } catch (Exception e) {
-                Verbatim.LOGGER.error("[Verbatim PermissionService] Error accessing LuckPerms API via reflection: {}", e.getMessage());
+            } catch (Throwable e) {
+                Verbatim.LOGGER.error("[Verbatim PermissionService] Error accessing LuckPerms API: {}", e.getMessage());
                 // Fall through to vanilla OP check
             }
         }
@@ -145,6 +357,6 @@ public class PermissionService {
         boolean opCheckResult = player.hasPermissions(opLevelIfLuckPermsAbsent);
         Verbatim.LOGGER.info("[Verbatim PermissionService] LuckPerms not available. Vanilla OP check for player '{}', level {}: {} (for permission '{}')", 
                             player.getName().getString(), opLevelIfLuckPermsAbsent, opCheckResult, permissionNode);
-        return opCheckResult;
+        return cacheDecision(playerDecisions, permissionNode, opLevelIfLuckPermsAbsent, opCheckResult, false);
     }
-} 
\ No newline at end of file
+}
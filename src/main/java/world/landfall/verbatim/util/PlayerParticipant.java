@@ -0,0 +1,43 @@
+package world.landfall.verbatim.util;
+
+import net.minecraft.server.level.ServerPlayer;
+import world.landfall.verbatim.core.ChatParticipant;
+
+import java.util.UUID;
+
+/**
+ * Adapts an online player to the routing core. Position and dimension are read from the player on
+ * every call. A respawned player is a new ServerPlayer and so needs a new participant.
+ */
+public class PlayerParticipant implements ChatParticipant {
+    public final ServerPlayer player;
+
+    public PlayerParticipant(ServerPlayer player) {
+        this.player = player;
+    }
+
+    @Override
+    public UUID getId() {
+        return player.getUUID();
+    }
+
+    @Override
+    public Object getDimension() {
+        return player.level().dimension();
+    }
+
+    @Override
+    public double getX() {
+        return player.getX();
+    }
+
+    @Override
+    public double getY() {
+        return player.getY();
+    }
+
+    @Override
+    public double getZ() {
+        return player.getZ();
+    }
+}
@@ -0,0 +1,83 @@
+package world.landfall.verbatim.util;
+
+import net.minecraft.server.level.ServerPlayer;
+import world.landfall.verbatim.core.ChannelRouter;
+import world.landfall.verbatim.core.SpatialIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Online players in the core {@link SpatialIndex}, used to find candidate recipients for ranged channels
+ * without checking distance against every player on the server.
+ * Positions can be up to one tick stale, so queries are padded by how far a player can move in a tick and
+ * callers must still do an exact distance check. Teleports and dimension changes update the index at once.
+ * Only accessed from the server thread.
+ */
+public class PlayerSpatialIndex {
+    // Roughly the fastest a player legitimately moves in one tick (elytra with rockets); vanilla's
+    // "moved too quickly" check allows about this much
+    private static final double MAX_MOVE_PER_TICK = 18.0;
+
+    private static final SpatialIndex<PlayerParticipant> index = new SpatialIndex<>();
+    private static final Map<UUID, PlayerParticipant> participants = new HashMap<>();
+
+    /**
+     * Returns the player's participant for the routing core, reusing the one already indexed.
+     */
+    public static PlayerParticipant participantFor(ServerPlayer player) {
+        PlayerParticipant participant = participants.get(player.getUUID());
+        if (participant == null || participant.player != player) {
+            participant = new PlayerParticipant(player); // First sight, or respawned as a new ServerPlayer
+            participants.put(player.getUUID(), participant);
+        }
+        return participant;
+    }
+
+    /**
+     * Adds the player to the index or moves them to their current cell. Cheap when the player has not
+     * changed cell or level since the last update.
+     */
+    public static void update(ServerPlayer player) {
+        index.update(participantFor(player));
+    }
+
+    /**
+     * Moves the player to where they are about to be teleported within their current level.
+     */
+    public static void updateForTeleport(ServerPlayer player, double targetX, double targetZ) {
+        index.update(participantFor(player), player.level().dimension(), targetX, targetZ);
+    }
+
+    public static void remove(ServerPlayer player) {
+        participants.remove(player.getUUID());
+        index.remove(player.getUUID());
+    }
+
+    public static void clear() {
+        participants.clear();
+        index.clear();
+    }
+
+    public static List<PlayerParticipant> participantsFor(List<ServerPlayer> players) {
+        List<PlayerParticipant> result = new ArrayList<>(players.size());
+        for (ServerPlayer player : players) {
+            result.add(participantFor(player));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the channel members near the center, as {@link ChannelRouter#nearbyMembers} with the radius
+     * widened by one tick of movement.
+     *
+     * @return A new list of candidates, including the center player if it is a member
+     */
+    public static List<PlayerParticipant> getMembersNear(ServerPlayer center, double radius, Predicate<PlayerParticipant> isMember) {
+        return ChannelRouter.nearbyMembers(index, participantFor(center), radius + MAX_MOVE_PER_TICK, isMember);
+    }
+}
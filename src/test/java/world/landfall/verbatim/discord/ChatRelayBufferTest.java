@@ -0,0 +1,156 @@
+package world.landfall.verbatim.discord;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChatRelayBufferTest {
+
+    private ScheduledExecutorService scheduler;
+    private final LinkedBlockingQueue<List<String>> batches = new LinkedBlockingQueue<>();
+    private final List<CompletableFuture<Void>> pending = new ArrayList<>(); // Guarded by itself
+    private volatile boolean holdSends;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private ChatRelayBuffer relay(int capacity, ChatRelayBuffer.OverflowPolicy policy, long windowMillis) {
+        return new ChatRelayBuffer(capacity, policy, windowMillis, scheduler, batch -> {
+            List<String> contents = new ArrayList<>();
+            for (ChatRelayBuffer.Entry entry : batch) {
+                contents.add(entry.content);
+            }
+            batches.add(contents);
+            if (!holdSends) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            synchronized (pending) {
+                pending.add(future);
+            }
+            return future;
+        });
+    }
+
+    private static ChatRelayBuffer.Entry entry(String content) {
+        return new ChatRelayBuffer.Entry("100", new UUID(0L, 1L), "Player1", "Player1", content);
+    }
+
+    private CompletableFuture<Void> takePending() {
+        synchronized (pending) {
+            return pending.remove(0);
+        }
+    }
+
+    @Test
+    void zeroWindowSendsEachMessageWhileIdle() {
+        ChatRelayBuffer relay = relay(10, ChatRelayBuffer.OverflowPolicy.DROP_OLDEST, 0);
+        relay.submit(entry("a"));
+        relay.submit(entry("b"));
+
+        assertEquals(List.of(List.of("a"), List.of("b")), new ArrayList<>(batches));
+        assertEquals(2, relay.getBatchCount());
+        assertEquals(0, relay.getBatchedCount());
+    }
+
+    @Test
+    void holdsNextBatchUntilPreviousCompletes() {
+        holdSends = true;
+        ChatRelayBuffer relay = relay(10, ChatRelayBuffer.OverflowPolicy.DROP_OLDEST, 0);
+        relay.submit(entry("a"));
+        relay.submit(entry("b"));
+        relay.submit(entry("c"));
+        assertEquals(List.of(List.of("a")), new ArrayList<>(batches));
+
+        takePending().complete(null);
+        assertEquals(List.of(List.of("a"), List.of("b", "c")), new ArrayList<>(batches));
+
+        // Nothing buffered, so the next message goes straight out once this completes
+        takePending().complete(null);
+        relay.submit(entry("d"));
+        assertEquals(3, batches.size());
+    }
+
+    @Test
+    void failedSendStillOpensGate() {
+        holdSends = true;
+        ChatRelayBuffer relay = relay(10, ChatRelayBuffer.OverflowPolicy.DROP_OLDEST, 0);
+        relay.submit(entry("a"));
+        relay.submit(entry("b"));
+
+        takePending().completeExceptionally(new RuntimeException("rate limited"));
+        assertEquals(List.of(List.of("a"), List.of("b")), new ArrayList<>(batches));
+    }
+
+    @Test
+    void dropOldestKeepsRecentChatWhileInFlight() {
+        holdSends = true;
+        ChatRelayBuffer relay = relay(2, ChatRelayBuffer.OverflowPolicy.DROP_OLDEST, 0);
+        relay.submit(entry("a")); // In flight
+        relay.submit(entry("b"));
+        relay.submit(entry("c"));
+        relay.submit(entry("d"));
+
+        takePending().complete(null);
+        assertEquals(List.of(List.of("a"), List.of("c", "d")), new ArrayList<>(batches));
+        assertEquals(4, relay.getSubmittedCount());
+        assertEquals(1, relay.getDroppedCount());
+    }
+
+    @Test
+    void dropNewestKeepsBufferedChatWhileInFlight() {
+        holdSends = true;
+        ChatRelayBuffer relay = relay(2, ChatRelayBuffer.OverflowPolicy.DROP_NEWEST, 0);
+        relay.submit(entry("a"));
+        relay.submit(entry("b"));
+        relay.submit(entry("c"));
+        relay.submit(entry("d"));
+
+        takePending().complete(null);
+        assertEquals(List.of(List.of("a"), List.of("b", "c")), new ArrayList<>(batches));
+        assertEquals(1, relay.getDroppedCount());
+    }
+
+    @Test
+    void windowCollectsMessagesIntoOneBatch() throws InterruptedException {
+        ChatRelayBuffer relay = relay(10, ChatRelayBuffer.OverflowPolicy.DROP_OLDEST, 200);
+        relay.submit(entry("a"));
+        relay.submit(entry("b"));
+        relay.submit(entry("c"));
+        assertEquals(0, batches.size());
+
+        assertEquals(List.of("a", "b", "c"), batches.poll(2, TimeUnit.SECONDS));
+        assertNull(batches.poll(300, TimeUnit.MILLISECONDS));
+        assertEquals(3, relay.getBatchedCount());
+    }
+
+    @Test
+    void flushSendsEvenWhileInFlight() {
+        holdSends = true;
+        ChatRelayBuffer relay = relay(10, ChatRelayBuffer.OverflowPolicy.DROP_OLDEST, 0);
+        relay.submit(entry("a"));
+        relay.submit(entry("b"));
+
+        relay.flush(); // As at shutdown
+        assertEquals(List.of(List.of("a"), List.of("b")), new ArrayList<>(batches));
+    }
+}
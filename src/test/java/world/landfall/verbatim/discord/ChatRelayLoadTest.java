@@ -0,0 +1,127 @@
+package world.landfall.verbatim.discord;
+
+import net.minecraft.server.level.ServerPlayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.VerbatimConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Synthetic load through DiscordBot against a Discord that takes SEND_DELAY_MILLIS per request, run with the
+ * rest of the tests so a regression fails the build rather than only showing up in the JMH numbers.
+ * The bounds are several times what a laptop measures, so a slow CI runner stays green; what they catch is
+ * chat submission blocking on Discord, or chat queueing up behind one request per message.
+ */
+class ChatRelayLoadTest {
+    private static final String CHANNEL = "200";
+    private static final int THREADS = 4;
+    private static final int MESSAGES_PER_THREAD = 5000;
+    private static final int WINDOW_MILLIS = 100;
+    private static final int SEND_DELAY_MILLIS = 50;
+
+    private final ChatChannelManager.ChannelConfig channel = new ChatChannelManager.ChannelConfig(1, "trade", "&a[T]", "t", null, -1,
+            "&a", ": ", "&7", "&f", true, false, null, CHANNEL);
+
+    @BeforeEach
+    void setUp() {
+        TestSupport.loadDefaultConfig();
+        VerbatimConfig.DISCORD_CHANNEL_ID.set("100");
+        VerbatimConfig.DISCORD_USE_EMBED_MODE.set(false);
+        VerbatimConfig.DISCORD_USE_WEBHOOK_MODE.set(false);
+        VerbatimConfig.DISCORD_RELAY_WINDOW_MILLIS.set(WINDOW_MILLIS);
+        VerbatimConfig.DISCORD_RELAY_BUFFER_SIZE.set(500);
+        VerbatimConfig.DISCORD_RELAY_OVERFLOW_POLICY.set(ChatRelayBuffer.OverflowPolicy.DROP_OLDEST);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DiscordBot.shutdown();
+    }
+
+    @Test
+    void slowDiscordDoesNotSlowChatOrBuildUpLatency() throws InterruptedException {
+        DiscordBot.startOffline();
+        RecordingTransport transport = new RecordingTransport();
+        transport.sendDelayMillis = SEND_DELAY_MILLIS;
+        DiscordBot.attachTransport(transport);
+
+        List<ServerPlayer> players = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            players.add(TestSupport.player(i));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            ServerPlayer player = players.get(t);
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < MESSAGES_PER_THREAD; i++) {
+                    // Capture time travels with the message so latency is measured up to the Discord request
+                    DiscordBot.sendPlayerChatMessageToDiscord(player, channel, i + " " + System.nanoTime());
+                }
+            }, "Chat Load " + t);
+            producers.add(producer);
+            producer.start();
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        for (ServerPlayer player : players) {
+            DiscordBot.sendPlayerChatMessageToDiscord(player, channel, "last " + System.nanoTime());
+        }
+        Thread.sleep(WINDOW_MILLIS + SEND_DELAY_MILLIS * 2); // Let the last window go out on its own
+        DiscordBot.shutdown();
+
+        int submitted = THREADS * MESSAGES_PER_THREAD;
+        // One request per message would need submitted * SEND_DELAY_MILLIS; blocking on it would show here
+        assertTrue(submitMillis < 5000, "Submitting " + submitted + " messages took " + submitMillis + " ms");
+
+        List<RecordingTransport.Sent> requests = transport.sentTo(CHANNEL);
+        long maxLatencyNanos = 0;
+        long totalLatencyNanos = 0;
+        int relayed = 0;
+        List<String> lastRelayedPerPlayer = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            lastRelayedPerPlayer.add("");
+        }
+        for (RecordingTransport.Sent request : requests) {
+            for (String line : request.content.split("\n")) {
+                String[] parts = line.split(" ");
+                long latencyNanos = request.sentNanos - Long.parseLong(parts[2]);
+                maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+                totalLatencyNanos += latencyNanos;
+                relayed++;
+                lastRelayedPerPlayer.set(Integer.parseInt(parts[0].substring("Player".length(), parts[0].length() - 1)), parts[1]);
+            }
+        }
+        long maxLatencyMillis = TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos);
+        long meanLatencyMillis = TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos / relayed);
+
+        // The newest chat is never the part that is dropped
+        for (int t = 0; t < THREADS; t++) {
+            assertEquals("last", lastRelayedPerPlayer.get(t));
+        }
+        // A message waits at most one window plus the request in flight ahead of it
+        assertTrue(maxLatencyMillis < 2000, "Max relay latency " + maxLatencyMillis + " ms");
+        assertTrue(meanLatencyMillis < 500, "Mean relay latency " + meanLatencyMillis + " ms");
+        // Each request carries many lines (up to the 2000 character limit) instead of one message each
+        assertTrue(requests.size() * 10 < relayed, requests.size() + " requests for " + relayed + " relayed messages");
+    }
+}
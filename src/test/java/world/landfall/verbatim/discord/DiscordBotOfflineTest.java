@@ -0,0 +1,177 @@
+package world.landfall.verbatim.discord;
+
+import net.dv8tion.jda.api.exceptions.RateLimitedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.VerbatimConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiscordBotOfflineTest {
+    private static final String MAIN_CHANNEL = "100";
+    private static final String TRADE_CHANNEL = "200";
+
+    private final ChatChannelManager.ChannelConfig tradeChannel = new ChatChannelManager.ChannelConfig(1, "trade", "&a[T]", "t", null, -1,
+            "&a", ": ", "&7", "&f", true, false, null, TRADE_CHANNEL);
+
+    @BeforeEach
+    void setUp() {
+        TestSupport.loadDefaultConfig();
+        VerbatimConfig.DISCORD_CHANNEL_ID.set(MAIN_CHANNEL);
+        VerbatimConfig.DISCORD_USE_EMBED_MODE.set(false);
+        VerbatimConfig.DISCORD_USE_WEBHOOK_MODE.set(false);
+        VerbatimConfig.DISCORD_RELAY_WINDOW_MILLIS.set(0);
+        VerbatimConfig.DISCORD_CONNECTION_BATCH_SECONDS.set(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DiscordBot.shutdown();
+    }
+
+    @Test
+    void startupQueueKeepsNewestMessagesInOrder() {
+        DiscordBot.startOffline();
+        for (int i = 0; i < 150; i++) {
+            DiscordBot.sendToDiscord("message " + i);
+        }
+
+        RecordingTransport transport = new RecordingTransport();
+        DiscordBot.attachTransport(transport);
+        List<String> expected = new ArrayList<>();
+        for (int i = 50; i < 150; i++) {
+            expected.add("message " + i); // The queue holds 100; the oldest were dropped
+        }
+        assertEquals(expected, transport.messagesTo(MAIN_CHANNEL));
+        assertEquals(List.of("Server Offline"), transport.presence());
+
+        DiscordBot.sendToDiscord("after ready");
+        assertEquals("after ready", transport.messagesTo(MAIN_CHANNEL).get(100));
+    }
+
+    @Test
+    void connectionNoticesAreBatched() throws InterruptedException {
+        DiscordBot.startOffline();
+        RecordingTransport transport = new RecordingTransport();
+        DiscordBot.attachTransport(transport);
+
+        DiscordBot.sendPlayerConnectionStatusToDiscord(TestSupport.player(1), true);
+        DiscordBot.sendPlayerConnectionStatusToDiscord(TestSupport.player(2), true);
+        DiscordBot.sendPlayerConnectionStatusToDiscord(TestSupport.player(3), true);
+        DiscordBot.sendPlayerConnectionStatusToDiscord(TestSupport.player(1), false);
+        assertEquals(0, transport.sentCount()); // Held for discordConnectionBatchSeconds
+
+        assertTrue(transport.awaitSent(2, 5000));
+        // Runs of the same kind share a message; the leave stays after the joins
+        assertEquals(List.of("➕ Player1, Player2, Player3 have joined the server.", "➖ Player1 has left the server."),
+                transport.messagesTo(MAIN_CHANNEL));
+    }
+
+    @Test
+    void connectionNoticesWaitForStartup() {
+        VerbatimConfig.DISCORD_CONNECTION_BATCH_SECONDS.set(0);
+        DiscordBot.startOffline();
+        DiscordBot.sendPlayerConnectionStatusToDiscord(TestSupport.player(1), true);
+
+        RecordingTransport transport = new RecordingTransport();
+        DiscordBot.attachTransport(transport);
+        assertEquals(List.of("➕ Player1 has joined the server."), transport.messagesTo(MAIN_CHANNEL));
+    }
+
+    @Test
+    void chatIsHeldUntilAttached() {
+        DiscordBot.startOffline();
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(1), tradeChannel, "selling iron");
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(2), tradeChannel, "buying &6gold");
+
+        RecordingTransport transport = new RecordingTransport();
+        DiscordBot.attachTransport(transport);
+        // The first batch was already waiting for startup; the second collected behind it
+        assertEquals(List.of("Player1: selling iron", "Player2: buying gold"), transport.messagesTo(TRADE_CHANNEL));
+        assertEquals(List.of(), transport.messagesTo(MAIN_CHANNEL));
+    }
+
+    @Test
+    void chatWaitsForPreviousRequest() {
+        DiscordBot.startOffline();
+        RecordingTransport transport = new RecordingTransport();
+        transport.holdSends = true;
+        DiscordBot.attachTransport(transport);
+
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(1), tradeChannel, "a");
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(1), tradeChannel, "b");
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(2), tradeChannel, "c");
+        assertEquals(List.of("Player1: a"), transport.messagesTo(TRADE_CHANNEL));
+
+        transport.completeHeldSends();
+        assertEquals(List.of("Player1: a", "Player1: b\nPlayer2: c"), transport.messagesTo(TRADE_CHANNEL));
+        transport.completeHeldSends();
+    }
+
+    @Test
+    void rateLimitedRequestDoesNotStallChat() {
+        DiscordBot.startOffline();
+        RecordingTransport transport = new RecordingTransport();
+        transport.holdSends = true;
+        DiscordBot.attachTransport(transport);
+
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(1), tradeChannel, "a");
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(1), tradeChannel, "b");
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(2), tradeChannel, "c");
+
+        // JDA retries a 429 itself and only fails the request once it gives up; the lost batch is not resent
+        transport.failHeldSends(new RateLimitedException("channels/" + TRADE_CHANNEL + "/messages", 5000));
+        assertEquals(List.of("Player1: a", "Player1: b\nPlayer2: c"), transport.messagesTo(TRADE_CHANNEL));
+
+        transport.failHeldSends(new RateLimitedException("channels/" + TRADE_CHANNEL + "/messages", 5000));
+        transport.holdSends = false;
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(2), tradeChannel, "d");
+        assertEquals("Player2: d", transport.messagesTo(TRADE_CHANNEL).get(2));
+    }
+
+    @Test
+    void rateLimitedWebhookDoesNotStallChat() {
+        VerbatimConfig.DISCORD_USE_WEBHOOK_MODE.set(true);
+        DiscordBot.startOffline();
+        RecordingTransport transport = new RecordingTransport();
+        transport.holdSends = true;
+        DiscordBot.attachTransport(transport);
+
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(1), tradeChannel, "a");
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(1), tradeChannel, "b");
+        DiscordBot.sendPlayerChatMessageToDiscord(TestSupport.player(2), tradeChannel, "c");
+        transport.failHeldSends(new RateLimitedException("webhooks/1/token", 5000));
+
+        // One execution per run of messages from the same player
+        assertEquals(List.of("Player1: a", "Player1: b", "Player2: c"), transport.messagesTo(TRADE_CHANNEL));
+        transport.completeHeldSends();
+    }
+
+    @Test
+    void reconnectUsesNewTransport() {
+        DiscordBot.startOffline();
+        RecordingTransport first = new RecordingTransport();
+        DiscordBot.attachTransport(first);
+        DiscordBot.sendToDiscord("before restart");
+
+        DiscordBot.shutdown();
+        assertFalse(DiscordBot.isEnabled());
+        DiscordBot.sendToDiscord("while stopped"); // Dropped
+
+        DiscordBot.startOffline();
+        DiscordBot.sendToDiscord("during reconnect");
+        RecordingTransport second = new RecordingTransport();
+        DiscordBot.attachTransport(second);
+        DiscordBot.sendToDiscord("after reconnect");
+
+        assertEquals(List.of("before restart"), first.messagesTo(MAIN_CHANNEL));
+        assertEquals(List.of("during reconnect", "after reconnect"), second.messagesTo(MAIN_CHANNEL));
+    }
+}
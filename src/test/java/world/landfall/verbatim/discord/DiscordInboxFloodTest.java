@@ -0,0 +1,148 @@
+package world.landfall.verbatim.discord;
+
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.unions.MessageChannelUnion;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import net.minecraft.server.players.PlayerList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.VerbatimConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Floods DiscordListener the way a busy (or spammed) Discord channel would and checks what DiscordInbox lets
+ * through to the server thread: at most discordInboundMessagesPerTick per tick, and one "+N more messages"
+ * line for the rest, including whatever overflowed the pending queue.
+ */
+class DiscordInboxFloodTest {
+    private static final String MAIN_CHANNEL = "100";
+    private static final int MESSAGES_PER_TICK = 5;
+
+    private final DiscordListener listener = new DiscordListener();
+    private final List<ServerPlayer> online = new ArrayList<>();
+    private final List<List<String>> received = new ArrayList<>(); // Per online player, in arrival order
+    private MinecraftServer server;
+
+    @BeforeEach
+    void setUp() {
+        TestSupport.loadDefaultConfig();
+        VerbatimConfig.DISCORD_CHANNEL_ID.set(MAIN_CHANNEL); // Mirrored by "global"
+        VerbatimConfig.DISCORD_INBOUND_MESSAGES_PER_TICK.set(MESSAGES_PER_TICK);
+        ChatChannelManager.loadConfiguredChannels();
+        DiscordBot.startOffline();
+
+        PlayerList playerList = mock(PlayerList.class);
+        server = mock(MinecraftServer.class);
+        when(server.getPlayerList()).thenReturn(playerList);
+        when(playerList.getPlayers()).thenReturn(online);
+        for (int i = 1; i <= 3; i++) {
+            ServerPlayer player = onlinePlayer(i);
+            when(playerList.getPlayer(player.getUUID())).thenReturn(player);
+        }
+        ChatChannelManager.joinChannel(online.get(0), "global");
+        ChatChannelManager.joinChannel(online.get(1), "global");
+        // The third player is online but not in the channel
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (ServerPlayer player : online) {
+            ChatChannelManager.playerLoggedOut(player);
+        }
+        DiscordInbox.clear();
+        DiscordBot.shutdown();
+    }
+
+    private ServerPlayer onlinePlayer(int index) {
+        ServerPlayer player = TestSupport.player(index);
+        when(player.getPersistentData()).thenReturn(new CompoundTag());
+        List<String> messages = new ArrayList<>();
+        player.connection = mock(ServerGamePacketListenerImpl.class);
+        doAnswer(invocation -> {
+            ClientboundSystemChatPacket packet = invocation.getArgument(0);
+            messages.add(packet.content().getString());
+            return null;
+        }).when(player.connection).send(any(), any());
+        online.add(player);
+        received.add(messages);
+        return player;
+    }
+
+    private static MessageReceivedEvent event(String channelId, String author, boolean bot, boolean webhook, String content) {
+        User user = mock(User.class);
+        when(user.getName()).thenReturn(author);
+        when(user.isBot()).thenReturn(bot);
+        MessageChannelUnion channel = mock(MessageChannelUnion.class);
+        when(channel.getId()).thenReturn(channelId);
+        Message message = mock(Message.class);
+        when(message.getContentDisplay()).thenReturn(content);
+        MessageReceivedEvent event = mock(MessageReceivedEvent.class);
+        when(event.getAuthor()).thenReturn(user);
+        when(event.getChannel()).thenReturn(channel);
+        when(event.getMessage()).thenReturn(message);
+        when(event.isWebhookMessage()).thenReturn(webhook);
+        return event;
+    }
+
+    @Test
+    void floodIsCappedPerTickAndSummarised() {
+        for (int i = 0; i < 1200; i++) { // Past the 1000 message pending bound as well
+            listener.onMessageReceived(event(MAIN_CHANNEL, "Alice", false, false, "message " + i));
+        }
+        DiscordInbox.tick(server);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < MESSAGES_PER_TICK; i++) {
+            expected.add("[Discord] Alice » message " + i);
+        }
+        expected.add("[Discord] +1195 more messages");
+        assertEquals(expected, received.get(0));
+        assertEquals(expected, received.get(1));
+        assertEquals(List.of(), received.get(2));
+
+        DiscordInbox.tick(server); // Nothing is carried over
+        assertEquals(MESSAGES_PER_TICK + 1, received.get(0).size());
+    }
+
+    @Test
+    void belowCapIsDeliveredWithoutSummary() {
+        for (int i = 0; i < MESSAGES_PER_TICK; i++) {
+            listener.onMessageReceived(event(MAIN_CHANNEL, "Alice", false, false, "message " + i));
+        }
+        DiscordInbox.tick(server);
+        assertEquals(MESSAGES_PER_TICK, received.get(0).size());
+        assertEquals("[Discord] Alice » message 4", received.get(0).get(MESSAGES_PER_TICK - 1));
+
+        listener.onMessageReceived(event(MAIN_CHANNEL, "Bob", false, false, "late"));
+        DiscordInbox.tick(server);
+        assertEquals("[Discord] Bob » late", received.get(0).get(MESSAGES_PER_TICK));
+    }
+
+    @Test
+    void botsWebhooksAndUnmirroredChannelsDoNotCount() {
+        for (int i = 0; i < 100; i++) {
+            listener.onMessageReceived(event(MAIN_CHANNEL, "Relay", true, false, "bot " + i));
+            listener.onMessageReceived(event(MAIN_CHANNEL, "Player1", false, true, "webhook " + i));
+            listener.onMessageReceived(event("999", "Alice", false, false, "elsewhere " + i));
+        }
+        listener.onMessageReceived(event(MAIN_CHANNEL, "Alice", false, false, "hello"));
+        DiscordInbox.tick(server);
+        assertEquals(List.of("[Discord] Alice » hello"), received.get(0));
+    }
+}
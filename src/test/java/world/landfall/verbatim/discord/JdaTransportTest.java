@@ -0,0 +1,119 @@
+package world.landfall.verbatim.discord;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Webhook;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.exceptions.RateLimitedException;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.MessageCreateAction;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * JdaTransport against a mocked JDA. JDA retries a 429 on its own and only fails the request once it gives up,
+ * so a rate limit reaches the transport as a failed future, which has to be handed back rather than thrown.
+ */
+class JdaTransportTest {
+    private static final String CHANNEL = "100";
+
+    private JDA jda;
+    private TextChannel channel;
+    private JdaTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        jda = mock(JDA.class);
+        channel = mock(TextChannel.class);
+        when(channel.getId()).thenReturn(CHANNEL);
+        when(channel.getName()).thenReturn("general");
+        when(jda.getTextChannelById(CHANNEL)).thenReturn(channel);
+        transport = new JdaTransport(jda);
+    }
+
+    private static RateLimitedException rateLimit(String route) {
+        return new RateLimitedException(route, 5000);
+    }
+
+    @Test
+    void rateLimitedSendIsReturnedAsFailedFuture() {
+        MessageCreateAction action = mock(MessageCreateAction.class);
+        when(channel.sendMessage("hello")).thenReturn(action);
+        when(action.submit()).thenReturn(CompletableFuture.failedFuture(rateLimit("channels/100/messages")));
+
+        CompletableFuture<?> first = transport.sendMessage(CHANNEL, "hello");
+        CompletableFuture<?> second = transport.sendMessage(CHANNEL, "hello");
+
+        assertTrue(first.isCompletedExceptionally());
+        CompletionException error = assertThrows(CompletionException.class, second::join);
+        assertTrue(error.getCause() instanceof RateLimitedException);
+        verify(jda, times(1)).getTextChannelById(CHANNEL); // The channel handle is cached
+    }
+
+    @Test
+    void unknownChannelSendsNothing() {
+        assertNull(transport.sendMessage("999", "hello"));
+        assertNull(transport.sendAsPlayer("999", "Player1", "https://minotar.net/avatar/1", "hello"));
+    }
+
+    @Test
+    void webhookSetupFailureFallsBackToBotMessages() {
+        RestAction<List<Webhook>> retrieve = mockRestAction();
+        when(channel.retrieveWebhooks()).thenReturn(retrieve);
+        doAnswer(invocation -> {
+            Consumer<Throwable> failure = invocation.getArgument(1);
+            failure.accept(new IllegalStateException("Missing Permissions"));
+            return null;
+        }).when(retrieve).queue(any(), any());
+
+        assertNull(transport.sendAsPlayer(CHANNEL, "Player1", "https://minotar.net/avatar/1", "hello"));
+        assertNull(transport.sendAsPlayer(CHANNEL, "Player1", "https://minotar.net/avatar/1", "hello"));
+        verify(channel, times(1)).retrieveWebhooks(); // Not retried on every message
+    }
+
+    @Test
+    void rateLimitedWebhookIsReturnedAsFailedFuture() {
+        Webhook webhook = mock(Webhook.class);
+        when(webhook.getName()).thenReturn("Verbatim Relay");
+        when(webhook.getToken()).thenReturn("token");
+        @SuppressWarnings("unchecked")
+        WebhookMessageCreateAction<Message> action = mock(WebhookMessageCreateAction.class, RETURNS_SELF);
+        when(webhook.sendMessage("hello")).thenReturn(action);
+        when(action.submit()).thenReturn(CompletableFuture.failedFuture(rateLimit("webhooks/1/token")));
+
+        RestAction<List<Webhook>> retrieve = mockRestAction();
+        when(channel.retrieveWebhooks()).thenReturn(retrieve);
+        doAnswer(invocation -> {
+            Consumer<List<Webhook>> success = invocation.getArgument(0);
+            success.accept(List.of(webhook));
+            return null;
+        }).when(retrieve).queue(any(), any());
+
+        assertNull(transport.sendAsPlayer(CHANNEL, "Player1", "https://minotar.net/avatar/1", "hello")); // Set up on first use
+        CompletableFuture<?> sent = transport.sendAsPlayer(CHANNEL, "Player1", "https://minotar.net/avatar/1", "hello");
+        assertTrue(sent.isCompletedExceptionally());
+        verify(action).setUsername("Player1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> RestAction<T> mockRestAction() {
+        return mock(RestAction.class);
+    }
+}
@@ -0,0 +1,149 @@
+package world.landfall.verbatim.discord;
+
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A DiscordTransport that records what would have been posted. Sends complete at once, after sendDelayMillis
+ * to stand in for the REST round trip, or are held until {@link #completeHeldSends()} or
+ * {@link #failHeldSends(Throwable)} while holdSends is set, to stand in for a slow or rate limited Discord.
+ */
+final class RecordingTransport implements DiscordTransport {
+
+    static final class Sent {
+        final String channelId;
+        final String content; // Message text, embed descriptions/authors, or "username: text" for webhook posts
+        final long sentNanos = System.nanoTime();
+
+        Sent(String channelId, String content) {
+            this.channelId = channelId;
+            this.content = content;
+        }
+    }
+
+    volatile boolean holdSends;
+    volatile long sendDelayMillis;
+    volatile boolean connected = true;
+
+    private final List<Sent> sent = new ArrayList<>(); // Guarded by this
+    private final List<CompletableFuture<Void>> heldSends = new ArrayList<>(); // Guarded by this
+    private final List<String> presence = new ArrayList<>(); // Guarded by this
+
+    @Override
+    public CompletableFuture<?> sendMessage(String channelId, String content) {
+        return record(channelId, content);
+    }
+
+    @Override
+    public CompletableFuture<?> sendEmbeds(String channelId, List<MessageEmbed> embeds) {
+        StringBuilder content = new StringBuilder();
+        for (MessageEmbed embed : embeds) {
+            if (content.length() > 0) {
+                content.append('\n');
+            }
+            content.append(embed.getDescription() != null ? embed.getDescription() : embed.getAuthor().getName());
+        }
+        return record(channelId, content.toString());
+    }
+
+    @Override
+    public CompletableFuture<?> sendAsPlayer(String channelId, String username, String avatarUrl, String content) {
+        return record(channelId, username + ": " + content);
+    }
+
+    @Override
+    public synchronized void setPresence(String status) {
+        presence.add(status);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private synchronized CompletableFuture<Void> record(String channelId, String content) {
+        sent.add(new Sent(channelId, content));
+        notifyAll();
+        if (holdSends) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            heldSends.add(future);
+            return future;
+        }
+        if (sendDelayMillis > 0) {
+            return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(sendDelayMillis, TimeUnit.MILLISECONDS));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Completes every held send. Done outside the lock, here and in failHeldSends, since completion may
+     * send the next batch.
+     */
+    void completeHeldSends() {
+        for (CompletableFuture<Void> future : takeHeldSends()) {
+            future.complete(null);
+        }
+    }
+
+    /**
+     * Fails every held send with the given error, as JDA does once it gives up on a request.
+     */
+    void failHeldSends(Throwable error) {
+        for (CompletableFuture<Void> future : takeHeldSends()) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    private synchronized List<CompletableFuture<Void>> takeHeldSends() {
+        List<CompletableFuture<Void>> held = new ArrayList<>(heldSends);
+        heldSends.clear();
+        return held;
+    }
+
+    synchronized List<String> messagesTo(String channelId) {
+        List<String> contents = new ArrayList<>();
+        for (Sent message : sent) {
+            if (message.channelId.equals(channelId)) {
+                contents.add(message.content);
+            }
+        }
+        return contents;
+    }
+
+    synchronized List<Sent> sentTo(String channelId) {
+        List<Sent> messages = new ArrayList<>();
+        for (Sent message : sent) {
+            if (message.channelId.equals(channelId)) {
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
+    synchronized int sentCount() {
+        return sent.size();
+    }
+
+    synchronized List<String> presence() {
+        return new ArrayList<>(presence);
+    }
+
+    /**
+     * Waits for at least count sends in total; returns false on timeout.
+     */
+    synchronized boolean awaitSent(int count, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (sent.size() < count) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return false;
+            }
+            wait(remainingMillis);
+        }
+        return true;
+    }
+}
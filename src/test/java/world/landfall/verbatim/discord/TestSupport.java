@@ -0,0 +1,56 @@
+package world.landfall.verbatim.discord;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.fml.config.IConfigSpec;
+import world.landfall.verbatim.VerbatimConfig;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shared setup for the Discord tests: vanilla bootstrap, the server config at its defaults, and stand-in
+ * players that only have a name and UUID.
+ */
+final class TestSupport {
+    private static boolean bootstrapped;
+
+    private TestSupport() {}
+
+    /**
+     * Loads the config from a fresh in-memory copy at its defaults, as if verbatim-server.toml were new.
+     * Tests then override single values with ConfigValue#set.
+     */
+    static synchronized void loadDefaultConfig() {
+        if (!bootstrapped) {
+            SharedConstants.tryDetectVersion();
+            Bootstrap.bootStrap();
+            bootstrapped = true;
+        }
+        CommentedConfig config = CommentedConfig.inMemory();
+        VerbatimConfig.SPEC.correct(config);
+        VerbatimConfig.SPEC.acceptConfig(new IConfigSpec.ILoadedConfig() {
+            @Override
+            public CommentedConfig config() {
+                return config;
+            }
+
+            @Override
+            public void save() {}
+        });
+    }
+
+    static ServerPlayer player(int index) {
+        ServerPlayer player = mock(ServerPlayer.class);
+        String name = "Player" + index;
+        when(player.getName()).thenReturn(Component.literal(name));
+        when(player.getDisplayName()).thenReturn(Component.literal(name));
+        when(player.getUUID()).thenReturn(new UUID(0L, index));
+        return player;
+    }
+}
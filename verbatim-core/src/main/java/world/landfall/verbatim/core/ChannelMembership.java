@@ -0,0 +1,129 @@
+package world.landfall.verbatim.core;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Which participants have joined which channels.
+ * Channels get dense IDs on first sight ({@link #channelIdFor}); IDs are never reassigned, so membership
+ * survives the channel set being reloaded. Each participant's joined channels are a bitset over those IDs,
+ * with a reverse index (channel name -> members) so dispatch only touches actual members.
+ * Channel IDs can be read from any thread; membership must only be touched from one thread.
+ */
+public class ChannelMembership {
+    private final Map<String, Integer> channelIdsByName = new ConcurrentHashMap<>();
+    private final List<String> channelNamesById = new CopyOnWriteArrayList<>();
+    private final Map<UUID, BitSet> joinedChannels = new HashMap<>();
+    private final Map<String, Set<UUID>> channelMembers = new HashMap<>();
+
+    /**
+     * Returns the channel's dense ID, assigning the next free one if the name is new.
+     */
+    public synchronized int channelIdFor(String channelName) {
+        Integer id = channelIdsByName.get(channelName);
+        if (id == null) {
+            id = channelNamesById.size();
+            channelIdsByName.put(channelName, id);
+            channelNamesById.add(channelName);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the channel's ID, or -1 if the name has never been seen.
+     */
+    public int idOf(String channelName) {
+        Integer id = channelIdsByName.get(channelName);
+        return id == null ? -1 : id;
+    }
+
+    public String nameOf(int channelId) {
+        return channelNamesById.get(channelId);
+    }
+
+    public boolean isJoined(UUID participantId, String channelName) {
+        int id = idOf(channelName);
+        return id >= 0 && isJoined(participantId, id);
+    }
+
+    // Allocation-free membership test for hot paths that already hold the ID
+    public boolean isJoined(UUID participantId, int channelId) {
+        BitSet bits = joinedChannels.get(participantId);
+        return bits != null && bits.get(channelId);
+    }
+
+    public void join(UUID participantId, int channelId) {
+        joinedChannels.computeIfAbsent(participantId, k -> new BitSet()).set(channelId);
+        channelMembers.computeIfAbsent(nameOf(channelId), k -> new HashSet<>()).add(participantId);
+    }
+
+    public void leave(UUID participantId, String channelName) {
+        int id = idOf(channelName);
+        BitSet bits = joinedChannels.get(participantId);
+        if (id >= 0 && bits != null) {
+            bits.clear(id);
+            if (bits.isEmpty()) {
+                joinedChannels.remove(participantId);
+            }
+        }
+        removeFromChannelMembers(participantId, channelName);
+    }
+
+    /**
+     * Leaves every channel, e.g. when the participant disconnects.
+     */
+    public void removeParticipant(UUID participantId) {
+        BitSet leftChannels = joinedChannels.remove(participantId);
+        if (leftChannels != null) {
+            for (int id = leftChannels.nextSetBit(0); id >= 0; id = leftChannels.nextSetBit(id + 1)) {
+                removeFromChannelMembers(participantId, nameOf(id));
+            }
+        }
+    }
+
+    private void removeFromChannelMembers(UUID participantId, String channelName) {
+        channelMembers.computeIfPresent(channelName, (k, v) -> {
+            v.remove(participantId);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    /**
+     * Returns a snapshot of the names of the participant's joined channels, in channel ID order.
+     */
+    public Set<String> getJoinedChannels(UUID participantId) {
+        Set<String> names = new LinkedHashSet<>();
+        BitSet bits = joinedChannels.get(participantId);
+        if (bits != null) {
+            for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+                names.add(nameOf(id));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns a read-only live view of the channel's members. Do not join or leave while iterating it.
+     */
+    public Set<UUID> getMembers(String channelName) {
+        Set<UUID> members = channelMembers.get(channelName);
+        return members == null ? Collections.emptySet() : Collections.unmodifiableSet(members);
+    }
+
+    /**
+     * Drops all membership. Channel IDs are kept.
+     */
+    public void clear() {
+        joinedChannels.clear();
+        channelMembers.clear();
+    }
+}
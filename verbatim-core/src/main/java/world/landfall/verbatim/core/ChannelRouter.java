@@ -0,0 +1,53 @@
+package world.landfall.verbatim.core;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Decides who hears a channel message and how clearly: the candidates near the sender (for ranged channels)
+ * or the channel's members, each assigned a {@link DistanceTiers} tier. Permission checks and formatting stay
+ * with the caller, which is handed each recipient with its tier.
+ */
+public class ChannelRouter {
+
+    @FunctionalInterface
+    public interface RecipientVisitor<P> {
+        /**
+         * @param tier {@link DistanceTiers#CLEAR} or an obscurity tier index; never out of range
+         */
+        void accept(P recipient, int tier);
+    }
+
+    private ChannelRouter() {
+    }
+
+    /**
+     * Returns the channel members whose indexed cells overlap the square of the given radius around the
+     * sender. A superset of the members in range; {@link #route} does the exact distance check.
+     *
+     * @param queryRadius The radius to search, including any allowance for stale indexed positions
+     * @return A new list of candidates, including the sender if it is a member
+     */
+    public static <P extends ChatParticipant> List<P> nearbyMembers(SpatialIndex<P> index, P sender, double queryRadius,
+                                                                     Predicate<? super P> isMember) {
+        List<P> candidates = index.getNear(sender, queryRadius);
+        candidates.removeIf(candidate -> !isMember.test(candidate));
+        return candidates;
+    }
+
+    /**
+     * Visits every candidate in range of the sender with its tier, in candidate order. The sender always
+     * hears their own message clearly; candidates beyond the tiers' fade-out range are skipped.
+     *
+     * @param tiers The message's distance tiers; unranged tiers make every candidate clear
+     */
+    public static <P extends ChatParticipant> void route(P sender, Iterable<P> candidates, DistanceTiers tiers,
+                                                         RecipientVisitor<? super P> visitor) {
+        for (P candidate : candidates) {
+            int tier = candidate.getId().equals(sender.getId()) ? DistanceTiers.CLEAR : tiers.tierFor(candidate.distanceToSqr(sender));
+            if (tier != DistanceTiers.OUT_OF_RANGE) {
+                visitor.accept(candidate, tier);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package world.landfall.verbatim.core;
+
+import java.util.UUID;
+
+/**
+ * Someone who can send and receive chat, as the routing core sees them: an identity and a position.
+ * The mod adapts online players to this; tests and benchmarks can use plain synthetic participants.
+ * Positions are read live, so an implementation backed by a player always reports where they are now.
+ */
+public interface ChatParticipant {
+
+    UUID getId();
+
+    /**
+     * The dimension the participant is in. Compared with equals; participants in different
+     * dimensions are never in range of each other.
+     */
+    Object getDimension();
+
+    double getX();
+
+    double getY();
+
+    double getZ();
+
+    default double distanceToSqr(ChatParticipant other) {
+        double dx = getX() - other.getX();
+        double dy = getY() - other.getY();
+        double dz = getZ() - other.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,34 @@
+package world.landfall.verbatim.core;
+
+/**
+ * A "prefix: message" split of a raw chat line, as used for channel shortcuts ("g: hello", "l; hi")
+ * and the DM prefix ("d: ..."). The prefix ends at the first ':' or ';'. Whether the prefix actually
+ * names a shortcut is up to the caller.
+ */
+public class ChatPrefix {
+    public final String prefix;
+    public final String content; // Trimmed; may be empty, which only changes focus
+
+    private ChatPrefix(String prefix, String content) {
+        this.prefix = prefix;
+        this.content = content;
+    }
+
+    /**
+     * Splits off a prefix, or returns null if the line has no separator or starts with one.
+     */
+    public static ChatPrefix parse(String rawMessage) {
+        int separatorIndex = -1;
+        for (int i = 0; i < rawMessage.length(); i++) {
+            char c = rawMessage.charAt(i);
+            if (c == ':' || c == ';') {
+                separatorIndex = i;
+                break;
+            }
+        }
+        if (separatorIndex <= 0) {
+            return null;
+        }
+        return new ChatPrefix(rawMessage.substring(0, separatorIndex), rawMessage.substring(separatorIndex + 1).trim());
+    }
+}
@@ -0,0 +1,58 @@
+package world.landfall.verbatim.core;
+
+/**
+ * Splits the distances around a ranged message into bands: clear up to the range, then a number of
+ * equally wide obscurity tiers out to range * {@link LocalSpeech#FADE_MULTIPLIER}, then out of range.
+ * Thresholds are squared up front so per-recipient lookups need no square root.
+ */
+public class DistanceTiers {
+    public static final int CLEAR = -1;
+    public static final int OUT_OF_RANGE = -2;
+
+    private final int range;
+    private final double clearRangeSqr;
+    private final double[] tierUpperBoundsSqr; // Tier i covers (bound[i-1], bound[i]]; the last bound is the fade-out range
+
+    /**
+     * @param range The clear range in blocks; negative for unranged (every distance is clear)
+     * @param tierCount The number of obscurity tiers between the range and the fade-out range
+     */
+    public DistanceTiers(int range, int tierCount) {
+        this.range = range;
+        this.clearRangeSqr = (double) range * range;
+        int tiers = range < 0 ? 0 : tierCount;
+        double fadeRange = range * LocalSpeech.FADE_MULTIPLIER;
+        double tierWidth = tiers == 0 ? 0 : (fadeRange - range) / tiers;
+        this.tierUpperBoundsSqr = new double[tiers];
+        for (int i = 0; i < tiers; i++) {
+            double upperBound = (i == tiers - 1) ? fadeRange : range + tierWidth * (i + 1);
+            this.tierUpperBoundsSqr[i] = upperBound * upperBound;
+        }
+    }
+
+    public int tierCount() {
+        return tierUpperBoundsSqr.length;
+    }
+
+    /**
+     * Returns {@link #CLEAR}, the obscurity tier index, or {@link #OUT_OF_RANGE} for a squared distance.
+     */
+    public int tierFor(double distanceSquared) {
+        if (range < 0 || distanceSquared <= clearRangeSqr) {
+            return CLEAR;
+        }
+        for (int tier = 0; tier < tierUpperBoundsSqr.length; tier++) {
+            if (distanceSquared <= tierUpperBoundsSqr[tier]) {
+                return tier;
+            }
+        }
+        return OUT_OF_RANGE;
+    }
+
+    /**
+     * The share of characters obscured in a tier, taken at the midpoint of its distance band.
+     */
+    public double obscurePercentage(int tier) {
+        return (tier + 0.5) / tierUpperBoundsSqr.length;
+    }
+}
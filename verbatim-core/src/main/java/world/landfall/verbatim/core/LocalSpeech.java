@@ -0,0 +1,55 @@
+package world.landfall.verbatim.core;
+
+/**
+ * How a message in a local channel is spoken, decided by its suffix, and how far it carries.
+ * Suffixes: "!!" shouts, "!" exclaims, "*" whispers, "$" mutters, "+" is a roleplay action and "))" is
+ * out-of-character. Anything else is said at the default range.
+ */
+public class LocalSpeech {
+    /**
+     * Listeners between the range and range * FADE_MULTIPLIER hear a partially obscured message.
+     */
+    public static final double FADE_MULTIPLIER = 2.0;
+
+    public enum Mode {
+        SAY(50, null),
+        SHOUT(100, "!!"),
+        EXCLAIM(75, "!"),
+        WHISPER(10, "*"),
+        MUTTER(3, "$"),
+        ROLEPLAY(50, "+"), // No verb; the message is formatted as an action and never obscured
+        OOC(50, "))");
+
+        public final int range;
+        final String suffix;
+
+        Mode(int range, String suffix) {
+            this.range = range;
+            this.suffix = suffix;
+        }
+    }
+
+    // Checked in this order so "!!" wins over "!"
+    private static final Mode[] SUFFIX_ORDER = {Mode.SHOUT, Mode.EXCLAIM, Mode.WHISPER, Mode.MUTTER, Mode.ROLEPLAY, Mode.OOC};
+
+    public final Mode mode;
+    public final String content; // Suffix removed and trimmed
+
+    private LocalSpeech(Mode mode, String content) {
+        this.mode = mode;
+        this.content = content;
+    }
+
+    public int range() {
+        return mode.range;
+    }
+
+    public static LocalSpeech parse(String message) {
+        for (Mode mode : SUFFIX_ORDER) {
+            if (message.endsWith(mode.suffix)) {
+                return new LocalSpeech(mode, message.substring(0, message.length() - mode.suffix.length()).trim());
+            }
+        }
+        return new LocalSpeech(Mode.SAY, message.trim());
+    }
+}
@@ -0,0 +1,49 @@
+package world.landfall.verbatim.core;
+
+import java.util.function.Predicate;
+
+/**
+ * Where a raw chat line is headed, decided from its prefix alone: "d:" continues a direct message,
+ * "g:" goes to the default channel, a known channel shortcut goes to that channel, and anything else
+ * (including an unknown prefix) goes to the sender's current focus unchanged.
+ * Acting on the target (changing focus, checking permissions) is up to the caller.
+ */
+public class MessageTarget {
+
+    public enum Kind {
+        DIRECT_MESSAGE,
+        DEFAULT_CHANNEL,
+        SHORTCUT,
+        FOCUSED
+    }
+
+    public final Kind kind;
+    public final String shortcut; // The channel shortcut for SHORTCUT, otherwise null
+    public final String content; // Prefix removed and trimmed; empty means only the focus changes. The whole line for FOCUSED
+
+    private MessageTarget(Kind kind, String shortcut, String content) {
+        this.kind = kind;
+        this.shortcut = shortcut;
+        this.content = content;
+    }
+
+    /**
+     * @param isShortcut Whether a prefix is a configured channel shortcut. "d" and "g" take precedence.
+     */
+    public static MessageTarget resolve(String rawMessage, Predicate<String> isShortcut) {
+        ChatPrefix chatPrefix = ChatPrefix.parse(rawMessage);
+        if (chatPrefix == null) {
+            return new MessageTarget(Kind.FOCUSED, null, rawMessage);
+        }
+        if ("d".equals(chatPrefix.prefix)) {
+            return new MessageTarget(Kind.DIRECT_MESSAGE, null, chatPrefix.content);
+        }
+        if ("g".equals(chatPrefix.prefix)) {
+            return new MessageTarget(Kind.DEFAULT_CHANNEL, null, chatPrefix.content);
+        }
+        if (isShortcut.test(chatPrefix.prefix)) {
+            return new MessageTarget(Kind.SHORTCUT, chatPrefix.prefix, chatPrefix.content);
+        }
+        return new MessageTarget(Kind.FOCUSED, null, rawMessage);
+    }
+}
@@ -0,0 +1,140 @@
+package world.landfall.verbatim.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-dimension spatial hash of participants, used to find candidate recipients for ranged channels
+ * without checking distance against every participant.
+ * Participants are bucketed into square cells and only moved between buckets when they cross a cell edge.
+ * Positions can be stale since the last {@link #update}, so callers must still do an exact distance check.
+ * Not thread-safe.
+ */
+public class SpatialIndex<P extends ChatParticipant> {
+    private static final int CELL_SHIFT = 5; // 32x32 block cells (2x2 chunks)
+
+    private final Map<Object, Map<Long, List<P>>> cellsByDimension = new HashMap<>();
+    private final Map<UUID, IndexedPosition<P>> indexedPositions = new HashMap<>();
+
+    private static class IndexedPosition<P> {
+        final P participant;
+        final Object dimension;
+        final long cellKey;
+
+        IndexedPosition(P participant, Object dimension, long cellKey) {
+            this.participant = participant;
+            this.dimension = dimension;
+            this.cellKey = cellKey;
+        }
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static int toCell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+
+    /**
+     * Adds the participant to the index or moves them to their current cell. Cheap when the participant
+     * has not changed cell or dimension since the last update.
+     */
+    public void update(P participant) {
+        update(participant, participant.getDimension(), participant.getX(), participant.getZ());
+    }
+
+    /**
+     * Indexes the participant at the given position rather than where it reports being now, e.g. at the
+     * destination of a teleport that has not happened yet. The next plain {@link #update} corrects it.
+     */
+    public void update(P participant, Object dimension, double x, double z) {
+        long key = cellKey(toCell(x), toCell(z));
+        IndexedPosition<P> previous = indexedPositions.get(participant.getId());
+        if (previous != null) {
+            if (previous.participant == participant && previous.cellKey == key && previous.dimension.equals(dimension)) {
+                return;
+            }
+            removeFromCell(previous);
+        }
+        cellsByDimension.computeIfAbsent(dimension, k -> new HashMap<>())
+            .computeIfAbsent(key, k -> new ArrayList<>(4))
+            .add(participant);
+        indexedPositions.put(participant.getId(), new IndexedPosition<>(participant, dimension, key));
+    }
+
+    public void remove(UUID participantId) {
+        IndexedPosition<P> previous = indexedPositions.remove(participantId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public void clear() {
+        cellsByDimension.clear();
+        indexedPositions.clear();
+    }
+
+    public int size() {
+        return indexedPositions.size();
+    }
+
+    private void removeFromCell(IndexedPosition<P> position) {
+        Map<Long, List<P>> cells = cellsByDimension.get(position.dimension);
+        if (cells == null) return;
+        List<P> cell = cells.get(position.cellKey);
+        if (cell == null) return;
+        // Remove the indexed instance; the same ID may since have been re-added as a new instance
+        cell.remove(position.participant);
+        if (cell.isEmpty()) {
+            cells.remove(position.cellKey);
+        }
+    }
+
+    /**
+     * Returns the participants in the same dimension as the center whose cells overlap the square around it.
+     * The result is a superset of the participants within the radius; it includes the center.
+     *
+     * @param center The participant at the center of the query
+     * @param radius The query radius in blocks
+     * @return A new list of candidates
+     */
+    public List<P> getNear(P center, double radius) {
+        update(center); // The center may have moved since its last update
+        List<P> result = new ArrayList<>();
+        Map<Long, List<P>> cells = cellsByDimension.get(center.getDimension());
+        if (cells == null) {
+            return result;
+        }
+        int minCellX = toCell(center.getX() - radius);
+        int maxCellX = toCell(center.getX() + radius);
+        int minCellZ = toCell(center.getZ() - radius);
+        int maxCellZ = toCell(center.getZ() + radius);
+        long cellArea = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+
+        if (cellArea > cells.size()) {
+            // Sparse dimension relative to the query area; walking the occupied cells is cheaper
+            for (Map.Entry<Long, List<P>> entry : cells.entrySet()) {
+                int cellX = (int) (entry.getKey() >> 32);
+                int cellZ = (int) (long) entry.getKey();
+                if (cellX >= minCellX && cellX <= maxCellX && cellZ >= minCellZ && cellZ <= maxCellZ) {
+                    result.addAll(entry.getValue());
+                }
+            }
+            return result;
+        }
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                List<P> cell = cells.get(cellKey(cellX, cellZ));
+                if (cell != null) {
+                    result.addAll(cell);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package world.landfall.verbatim.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelMembershipTest {
+    private static final UUID ALICE = new UUID(0L, 1L);
+    private static final UUID BOB = new UUID(0L, 2L);
+
+    @Test
+    void channelIdsAreDenseAndStable() {
+        ChannelMembership membership = new ChannelMembership();
+        assertEquals(0, membership.channelIdFor("global"));
+        assertEquals(1, membership.channelIdFor("local"));
+        assertEquals(0, membership.channelIdFor("global"));
+        assertEquals(-1, membership.idOf("staff"));
+        assertEquals("local", membership.nameOf(1));
+    }
+
+    @Test
+    void joinAndLeaveUpdateBothDirections() {
+        ChannelMembership membership = new ChannelMembership();
+        int global = membership.channelIdFor("global");
+        int local = membership.channelIdFor("local");
+
+        membership.join(ALICE, global);
+        membership.join(ALICE, local);
+        membership.join(BOB, global);
+        assertTrue(membership.isJoined(ALICE, "local"));
+        assertTrue(membership.isJoined(BOB, global));
+        assertFalse(membership.isJoined(BOB, local));
+        assertEquals(Set.of(ALICE, BOB), membership.getMembers("global"));
+        assertEquals(List.of("global", "local"), List.copyOf(membership.getJoinedChannels(ALICE)));
+
+        membership.leave(ALICE, "global");
+        assertFalse(membership.isJoined(ALICE, global));
+        assertEquals(Set.of(BOB), membership.getMembers("global"));
+
+        membership.removeParticipant(ALICE);
+        assertTrue(membership.getJoinedChannels(ALICE).isEmpty());
+        assertTrue(membership.getMembers("local").isEmpty());
+    }
+
+    @Test
+    void leavingUnknownChannelIsHarmless() {
+        ChannelMembership membership = new ChannelMembership();
+        membership.join(ALICE, membership.channelIdFor("global"));
+        membership.leave(ALICE, "never-configured");
+        membership.leave(BOB, "global");
+        assertEquals(Set.of(ALICE), membership.getMembers("global"));
+    }
+
+    @Test
+    void clearKeepsChannelIds() {
+        ChannelMembership membership = new ChannelMembership();
+        int global = membership.channelIdFor("global");
+        membership.join(ALICE, global);
+        membership.clear();
+        assertFalse(membership.isJoined(ALICE, global));
+        assertTrue(membership.getMembers("global").isEmpty());
+        assertEquals(global, membership.idOf("global"));
+    }
+
+    // Random joins, leaves and disconnects against a plain map model; the reverse index must always agree
+    @Test
+    void reverseIndexStaysConsistent() {
+        String[] channels = {"global", "local", "trade", "staff", "help"};
+        ChannelMembership membership = new ChannelMembership();
+        for (String channel : channels) {
+            membership.channelIdFor(channel);
+        }
+        Map<UUID, Set<String>> model = new HashMap<>();
+        Random random = new Random(7);
+        for (int step = 0; step < 20_000; step++) {
+            UUID participant = new UUID(0L, random.nextInt(50));
+            String channel = channels[random.nextInt(channels.length)];
+            int action = random.nextInt(10);
+            if (action < 6) {
+                membership.join(participant, membership.idOf(channel));
+                model.computeIfAbsent(participant, k -> new HashSet<>()).add(channel);
+            } else if (action < 9) {
+                membership.leave(participant, channel);
+                model.getOrDefault(participant, new HashSet<>()).remove(channel);
+            } else {
+                membership.removeParticipant(participant);
+                model.remove(participant);
+            }
+        }
+
+        for (String channel : channels) {
+            Set<UUID> expectedMembers = new HashSet<>();
+            model.forEach((participant, joined) -> {
+                if (joined.contains(channel)) {
+                    expectedMembers.add(participant);
+                }
+            });
+            assertEquals(expectedMembers, membership.getMembers(channel), "Members of " + channel);
+            for (UUID member : membership.getMembers(channel)) {
+                assertTrue(membership.isJoined(member, channel));
+                assertTrue(membership.getJoinedChannels(member).contains(channel));
+            }
+        }
+        model.forEach((participant, joined) -> assertEquals(joined, membership.getJoinedChannels(participant)));
+    }
+}
@@ -0,0 +1,84 @@
+package world.landfall.verbatim.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelRouterTest {
+
+    private static Map<TestParticipant, Integer> route(TestParticipant sender, List<TestParticipant> candidates, DistanceTiers tiers) {
+        Map<TestParticipant, Integer> heard = new LinkedHashMap<>();
+        ChannelRouter.route(sender, candidates, tiers, heard::put);
+        return heard;
+    }
+
+    @Test
+    void assignsTiersAndSkipsOutOfRange() {
+        TestParticipant sender = new TestParticipant(0, "overworld", 0, 64, 0);
+        TestParticipant near = new TestParticipant(1, "overworld", 10, 64, 0);
+        TestParticipant fading = new TestParticipant(2, "overworld", 90, 64, 0);
+        TestParticipant tooFar = new TestParticipant(3, "overworld", 150, 64, 0);
+
+        Map<TestParticipant, Integer> heard = route(sender, List.of(sender, near, fading, tooFar), new DistanceTiers(50, 3));
+        assertEquals(List.of(sender, near, fading), new ArrayList<>(heard.keySet()));
+        assertEquals(DistanceTiers.CLEAR, heard.get(sender).intValue());
+        assertEquals(DistanceTiers.CLEAR, heard.get(near).intValue());
+        assertEquals(2, heard.get(fading).intValue());
+    }
+
+    @Test
+    void senderAlwaysHearsClearly() {
+        TestParticipant sender = new TestParticipant(0, "overworld", 0, 64, 0);
+        // A second instance of the sender, e.g. the one the index held before a respawn
+        TestParticipant staleSender = new TestParticipant(0, "overworld", 500, 64, 0);
+        Map<TestParticipant, Integer> heard = route(sender, List.of(staleSender), new DistanceTiers(10, 0));
+        assertEquals(DistanceTiers.CLEAR, heard.get(staleSender).intValue());
+    }
+
+    @Test
+    void unrangedReachesEveryCandidate() {
+        TestParticipant sender = new TestParticipant(0, "overworld", 0, 64, 0);
+        TestParticipant elsewhere = new TestParticipant(1, "nether", 100_000, 64, 100_000);
+        Map<TestParticipant, Integer> heard = route(sender, List.of(elsewhere), new DistanceTiers(-1, 0));
+        assertEquals(DistanceTiers.CLEAR, heard.get(elsewhere).intValue());
+    }
+
+    @Test
+    void nearbyMembersFiltersNonMembers() {
+        SpatialIndex<TestParticipant> index = new SpatialIndex<>();
+        ChannelMembership membership = new ChannelMembership();
+        int local = membership.channelIdFor("local");
+        TestParticipant sender = new TestParticipant(0, "overworld", 0, 64, 0);
+        TestParticipant member = new TestParticipant(1, "overworld", 5, 64, 5);
+        TestParticipant nonMember = new TestParticipant(2, "overworld", 6, 64, 6);
+        TestParticipant farMember = new TestParticipant(3, "overworld", 3000, 64, 3000);
+        for (TestParticipant participant : List.of(sender, member, nonMember, farMember)) {
+            index.update(participant);
+        }
+        for (TestParticipant participant : List.of(sender, member, farMember)) {
+            membership.join(participant.id, local);
+        }
+
+        List<TestParticipant> candidates = ChannelRouter.nearbyMembers(index, sender, 50, p -> membership.isJoined(p.id, local));
+        assertTrue(candidates.contains(sender));
+        assertTrue(candidates.contains(member));
+        assertFalse(candidates.contains(nonMember));
+        assertFalse(candidates.contains(farMember));
+    }
+
+    @Test
+    void routesOnlyWhatTheVisitorIsGiven() {
+        TestParticipant sender = new TestParticipant(0, "overworld", 0, 64, 0);
+        List<UUID> visited = new ArrayList<>();
+        ChannelRouter.route(sender, List.<TestParticipant>of(), new DistanceTiers(50, 3), (recipient, tier) -> visited.add(recipient.id));
+        assertTrue(visited.isEmpty());
+    }
+}
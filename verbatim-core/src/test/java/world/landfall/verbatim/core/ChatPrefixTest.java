@@ -0,0 +1,33 @@
+package world.landfall.verbatim.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChatPrefixTest {
+
+    @Test
+    void splitsAtFirstSeparator() {
+        ChatPrefix colon = ChatPrefix.parse("g: hello: there");
+        assertEquals("g", colon.prefix);
+        assertEquals("hello: there", colon.content);
+
+        ChatPrefix semicolon = ChatPrefix.parse("l;hi");
+        assertEquals("l", semicolon.prefix);
+        assertEquals("hi", semicolon.content);
+    }
+
+    @Test
+    void contentMayBeEmpty() {
+        assertEquals("", ChatPrefix.parse("t:").content);
+        assertEquals("", ChatPrefix.parse("t:   ").content);
+    }
+
+    @Test
+    void noPrefixWithoutSeparatorOrWhenLeading() {
+        assertNull(ChatPrefix.parse("hello there"));
+        assertNull(ChatPrefix.parse(":)"));
+        assertNull(ChatPrefix.parse(""));
+    }
+}
@@ -0,0 +1,46 @@
+package world.landfall.verbatim.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DistanceTiersTest {
+
+    private static double squared(double distance) {
+        return distance * distance;
+    }
+
+    @Test
+    void clearUpToRangeThenTiersThenOutOfRange() {
+        DistanceTiers tiers = new DistanceTiers(50, 3); // Fades out at 100; tiers end at 66.7, 83.3, 100
+        assertEquals(3, tiers.tierCount());
+        assertEquals(DistanceTiers.CLEAR, tiers.tierFor(0));
+        assertEquals(DistanceTiers.CLEAR, tiers.tierFor(squared(50)));
+        assertEquals(0, tiers.tierFor(squared(51)));
+        assertEquals(1, tiers.tierFor(squared(70)));
+        assertEquals(2, tiers.tierFor(squared(90)));
+        assertEquals(2, tiers.tierFor(squared(100)));
+        assertEquals(DistanceTiers.OUT_OF_RANGE, tiers.tierFor(squared(100.5)));
+    }
+
+    @Test
+    void withoutTiersRangeIsAHardCutoff() {
+        DistanceTiers tiers = new DistanceTiers(10, 0);
+        assertEquals(DistanceTiers.CLEAR, tiers.tierFor(squared(10)));
+        assertEquals(DistanceTiers.OUT_OF_RANGE, tiers.tierFor(squared(11)));
+    }
+
+    @Test
+    void unrangedIsAlwaysClear() {
+        DistanceTiers tiers = new DistanceTiers(-1, 3);
+        assertEquals(0, tiers.tierCount());
+        assertEquals(DistanceTiers.CLEAR, tiers.tierFor(squared(1_000_000)));
+    }
+
+    @Test
+    void obscurityGrowsWithTier() {
+        DistanceTiers tiers = new DistanceTiers(50, 4);
+        assertEquals(0.125, tiers.obscurePercentage(0), 1e-9);
+        assertEquals(0.875, tiers.obscurePercentage(3), 1e-9);
+    }
+}
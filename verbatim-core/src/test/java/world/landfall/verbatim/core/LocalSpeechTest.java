@@ -0,0 +1,36 @@
+package world.landfall.verbatim.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalSpeechTest {
+
+    private static void assertSpeech(String message, LocalSpeech.Mode mode, String content) {
+        LocalSpeech speech = LocalSpeech.parse(message);
+        assertEquals(mode, speech.mode, message);
+        assertEquals(content, speech.content, message);
+    }
+
+    @Test
+    void suffixDecidesMode() {
+        assertSpeech("hello there", LocalSpeech.Mode.SAY, "hello there");
+        assertSpeech("watch out!!", LocalSpeech.Mode.SHOUT, "watch out");
+        assertSpeech("watch out!", LocalSpeech.Mode.EXCLAIM, "watch out");
+        assertSpeech("psst *", LocalSpeech.Mode.WHISPER, "psst");
+        assertSpeech("hmm$", LocalSpeech.Mode.MUTTER, "hmm");
+        assertSpeech("waves +", LocalSpeech.Mode.ROLEPLAY, "waves");
+        assertSpeech("brb))", LocalSpeech.Mode.OOC, "brb");
+    }
+
+    @Test
+    void contentIsTrimmed() {
+        assertSpeech("  hello  ", LocalSpeech.Mode.SAY, "hello");
+    }
+
+    @Test
+    void rangeComesFromMode() {
+        assertEquals(LocalSpeech.Mode.SHOUT.range, LocalSpeech.parse("hey!!").range());
+        assertEquals(LocalSpeech.Mode.WHISPER.range, LocalSpeech.parse("hey*").range());
+    }
+}
@@ -0,0 +1,47 @@
+package world.landfall.verbatim.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MessageTargetTest {
+    private static final Predicate<String> SHORTCUTS = Set.of("l", "t", "g", "d")::contains;
+
+    @Test
+    void directMessageAndDefaultChannelPrefixes() {
+        MessageTarget dm = MessageTarget.resolve("d: see you there", SHORTCUTS);
+        assertEquals(MessageTarget.Kind.DIRECT_MESSAGE, dm.kind);
+        assertEquals("see you there", dm.content);
+
+        // "g" means the default channel even if a channel also uses it as its shortcut
+        MessageTarget global = MessageTarget.resolve("g;hi all", SHORTCUTS);
+        assertEquals(MessageTarget.Kind.DEFAULT_CHANNEL, global.kind);
+        assertEquals("hi all", global.content);
+        assertNull(global.shortcut);
+    }
+
+    @Test
+    void knownShortcutTargetsItsChannel() {
+        MessageTarget trade = MessageTarget.resolve("t: selling iron", SHORTCUTS);
+        assertEquals(MessageTarget.Kind.SHORTCUT, trade.kind);
+        assertEquals("t", trade.shortcut);
+        assertEquals("selling iron", trade.content);
+
+        assertEquals("", MessageTarget.resolve("l:", SHORTCUTS).content); // Focus change only
+    }
+
+    @Test
+    void anythingElseGoesToTheFocusUnchanged() {
+        MessageTarget plain = MessageTarget.resolve("hello there", SHORTCUTS);
+        assertEquals(MessageTarget.Kind.FOCUSED, plain.kind);
+        assertEquals("hello there", plain.content);
+
+        MessageTarget unknownPrefix = MessageTarget.resolve("note: the gate is open", SHORTCUTS);
+        assertEquals(MessageTarget.Kind.FOCUSED, unknownPrefix.kind);
+        assertEquals("note: the gate is open", unknownPrefix.content);
+    }
+}
@@ -0,0 +1,127 @@
+package world.landfall.verbatim.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialIndexTest {
+    private static final int PARTICIPANTS = 10_000;
+    private static final int WORLD_RADIUS = 2000;
+    private static final String[] DIMENSIONS = {"overworld", "nether", "end"};
+    private static final double[] RADII = {3, 10, 50, 100, 150, 5000};
+
+    private Random random;
+    private TestParticipant[] participants;
+    private SpatialIndex<TestParticipant> index;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+        index = new SpatialIndex<>();
+        participants = new TestParticipant[PARTICIPANTS];
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            participants[i] = new TestParticipant(i, DIMENSIONS[i % DIMENSIONS.length], coordinate(), 64, coordinate());
+            index.update(participants[i]);
+        }
+    }
+
+    private double coordinate() {
+        return random.nextDouble() * 2 * WORLD_RADIUS - WORLD_RADIUS;
+    }
+
+    // Everyone within the radius (horizontally) must be found; nothing from another dimension may be
+    private void assertMatchesBruteForce(TestParticipant center, double radius) {
+        List<TestParticipant> found = index.getNear(center, radius);
+        Set<UUID> foundIds = new HashSet<>();
+        for (TestParticipant participant : found) {
+            assertEquals(center.dimension, participant.dimension, "Candidate from another dimension");
+            assertTrue(foundIds.add(participant.id), "Candidate returned twice");
+        }
+        for (TestParticipant participant : participants) {
+            if (participant.dimension == null) {
+                continue; // Removed
+            }
+            double dx = participant.x - center.x;
+            double dz = participant.z - center.z;
+            if (participant.dimension.equals(center.dimension) && dx * dx + dz * dz <= radius * radius) {
+                assertTrue(foundIds.contains(participant.id), "Missed participant within " + radius + " blocks");
+            }
+        }
+    }
+
+    @Test
+    void findsEveryParticipantInRange() {
+        for (int query = 0; query < 200; query++) {
+            assertMatchesBruteForce(participants[random.nextInt(PARTICIPANTS)], RADII[query % RADII.length]);
+        }
+    }
+
+    @Test
+    void followsMovesAndDimensionChanges() {
+        for (int tick = 0; tick < 20; tick++) {
+            for (TestParticipant participant : participants) {
+                if (random.nextInt(100) == 0) {
+                    participant.dimension = DIMENSIONS[random.nextInt(DIMENSIONS.length)];
+                    participant.x = coordinate(); // Teleport
+                    participant.z = coordinate();
+                } else {
+                    participant.x += random.nextDouble() * 8 - 4; // Walking and sprinting, across cell edges
+                    participant.z += random.nextDouble() * 8 - 4;
+                }
+                index.update(participant);
+            }
+            for (int query = 0; query < 10; query++) {
+                assertMatchesBruteForce(participants[random.nextInt(PARTICIPANTS)], RADII[query % RADII.length]);
+            }
+        }
+    }
+
+    @Test
+    void removedParticipantsAreNotFound() {
+        TestParticipant center = participants[0];
+        for (int i = 1; i < PARTICIPANTS; i += 2) {
+            index.remove(participants[i].id);
+            participants[i].dimension = null;
+        }
+        assertEquals(PARTICIPANTS / 2, index.size());
+        List<TestParticipant> found = index.getNear(center, 5000);
+        for (TestParticipant participant : found) {
+            assertTrue(participant.dimension != null, "Removed participant returned");
+        }
+        assertMatchesBruteForce(center, 100);
+    }
+
+    @Test
+    void explicitPositionIsUsedUntilTheNextUpdate() {
+        TestParticipant traveller = new TestParticipant(PARTICIPANTS, "overworld", 0, 64, 0);
+        TestParticipant farAway = new TestParticipant(PARTICIPANTS + 1, "overworld", 1000, 64, 1000);
+        index.update(traveller);
+        index.update(farAway);
+
+        index.update(traveller, "overworld", 1000, 1000); // About to teleport next to farAway
+        assertTrue(index.getNear(farAway, 10).contains(traveller));
+
+        index.update(traveller); // The teleport did not happen after all
+        assertFalse(index.getNear(farAway, 10).contains(traveller));
+    }
+
+    @Test
+    void replacedInstanceIsIndexedOnce() {
+        TestParticipant original = participants[0];
+        TestParticipant respawned = new TestParticipant(0, original.dimension, original.x, original.y, original.z);
+        index.update(respawned);
+        List<TestParticipant> found = index.getNear(respawned, 1);
+        assertTrue(found.contains(respawned));
+        assertFalse(found.stream().anyMatch(p -> p == original), "Stale instance still indexed");
+        assertEquals(PARTICIPANTS, index.size());
+    }
+}
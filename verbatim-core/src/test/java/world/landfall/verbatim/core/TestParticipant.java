@@ -0,0 +1,47 @@
+package world.landfall.verbatim.core;
+
+import java.util.UUID;
+
+/**
+ * A participant with a settable position, standing in for an online player.
+ */
+class TestParticipant implements ChatParticipant {
+    final UUID id;
+    Object dimension;
+    double x;
+    double y;
+    double z;
+
+    TestParticipant(int index, Object dimension, double x, double y, double z) {
+        this.id = new UUID(0L, index);
+        this.dimension = dimension;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public Object getDimension() {
+        return dimension;
+    }
+
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    @Override
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public double getZ() {
+        return z;
+    }
+}